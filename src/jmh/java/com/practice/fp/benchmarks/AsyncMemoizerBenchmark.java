@@ -0,0 +1,66 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.AsyncMemoizer;
+import com.practice.fp.commons.Memoizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * caller latency of AsyncMemoizer when the underlying function takes 5ms
+ * entries are refreshed every 10ms, callers should keep seeing cache-hit latency
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncMemoizerBenchmark {
+
+    private static final int KEYS = 64;
+
+    ExecutorService executor;
+    AsyncMemoizer<Integer, Integer> memoized;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+        memoized = Memoizer.async()
+                .executor(executor)
+                .refreshAfterWrite(Duration.ofMillis(10))
+                .memoize(x -> CompletableFuture.supplyAsync(() -> slow(x), executor));
+        for (int i = 0; i < KEYS; i++) {
+            memoized.apply(i).join();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer refreshAhead(Cursor cursor) {
+        return memoized.apply(cursor.i++ & (KEYS - 1)).join();
+    }
+
+    private static Integer slow(Integer x) {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return x * 10;
+    }
+}
@@ -0,0 +1,67 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.collections.CollectionUtilities;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * java.util.List helpers of CollectionUtilities
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionUtilitiesBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int size;
+
+    List<Integer> list;
+
+    @Setup
+    public void setup() {
+        list = CollectionUtilities.list(Lists.javaRange(size));
+    }
+
+    @Benchmark
+    public List<Integer> append() {
+        List<Integer> result = CollectionUtilities.list();
+        for (int i = 0; i < size; i++) {
+            result = CollectionUtilities.append(result, i);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> prepend() {
+        List<Integer> result = CollectionUtilities.list();
+        for (int i = 0; i < size; i++) {
+            result = CollectionUtilities.prepend(i, result);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> range() {
+        return CollectionUtilities.range(0, size);
+    }
+
+    @Benchmark
+    public Integer foldLeft() {
+        return CollectionUtilities.foldLeft(list, 0, x -> y -> x + y);
+    }
+
+    @Benchmark
+    public Integer foldLeftRecursive() {
+        return CollectionUtilities.foldLeftRecursive(list, 0, x -> y -> x + y);
+    }
+
+    @Benchmark
+    public Integer foldRightRecursive() {
+        return CollectionUtilities.foldRightRecursive(list, 0, x -> y -> x + y);
+    }
+}
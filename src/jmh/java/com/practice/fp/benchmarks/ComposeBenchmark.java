@@ -0,0 +1,61 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.Function;
+import com.practice.fp.commons.List;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * applying n composed functions: nested lambdas (andThen folded over the list) against a flat chain
+ * the fork gets a large stack so that the nested version survives 10k stages,
+ * with the default stack it overflows, the chain does not
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+@State(Scope.Benchmark)
+public class ComposeBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int size;
+
+    Function<Integer, Integer> nested;
+    Function<Integer, Integer> chain;
+    List<Function<Integer, Integer>> functions;
+
+    @Setup
+    public void setup() {
+        functions = List.list();
+        for (int i = 0; i < size; i++) {
+            int k = i;
+            // a few distinct lambda classes so the call sites are megamorphic, like real pipelines
+            Function<Integer, Integer> f = k % 3 == 0 ? x -> x + 1 : k % 3 == 1 ? x -> x ^ 1 : x -> x - 1;
+            functions = functions.cons(f);
+        }
+        nested = functions.foldLeft(Function.<Integer>identity(), acc -> f -> acc.andThen(f));
+        chain = Function.andThenAll(functions);
+    }
+
+    @Benchmark
+    public Integer applyNested() {
+        return nested.apply(0);
+    }
+
+    @Benchmark
+    public Integer applyChain() {
+        return chain.apply(0);
+    }
+
+    @Benchmark
+    public Function<Integer, Integer> buildNested() {
+        return functions.foldLeft(Function.<Integer>identity(), acc -> f -> acc.andThen(f));
+    }
+
+    @Benchmark
+    public Function<Integer, Integer> buildChain() {
+        return Function.andThenAll(functions);
+    }
+}
@@ -0,0 +1,55 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.chapters.chap4.Fibonanci;
+import com.practice.fp.commons.Fibonacci;
+import com.practice.fp.commons.Function;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * linear TailCall.loop fibonacci against fast doubling, up to n = 10^6
+ * the linear version at 10^6 takes seconds per call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FibonacciBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int n;
+
+    BigInteger bigN;
+    Function<Integer, BigInteger> cached;
+
+    @Setup
+    public void setup() {
+        bigN = BigInteger.valueOf(n);
+        cached = Fibonacci.cachedFibonacci(16);
+        cached.apply(n);
+    }
+
+    @Benchmark
+    public BigInteger linearLoop() {
+        return Fibonanci.fibLoop(bigN);
+    }
+
+    @Benchmark
+    public BigInteger fastDoubling() {
+        return Fibonacci.fibonacci(n);
+    }
+
+    @Benchmark
+    public BigInteger lucas() {
+        return Fibonacci.lucas(n);
+    }
+
+    @Benchmark
+    public BigInteger cachedHit() {
+        return cached.apply(n);
+    }
+}
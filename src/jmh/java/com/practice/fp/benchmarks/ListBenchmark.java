@@ -0,0 +1,111 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.List;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * operations of commons.List from 10 to 10^6 elements
+ * run with -Djmh.args="ListBenchmark -prof gc" to compare gc.alloc.rate.norm (bytes per operation)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int size;
+
+    List<Integer> list;
+    List<Integer> other;
+
+    @Setup
+    public void setup() {
+        list = Lists.range(size);
+        other = Lists.range(size);
+    }
+
+    @Benchmark
+    public List<Integer> cons() {
+        List<Integer> result = List.list();
+        for (int i = 0; i < size; i++) {
+            result = result.cons(i);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> map() {
+        return list.map(x -> x + 1);
+    }
+
+    @Benchmark
+    public List<Integer> filter() {
+        return list.filter(x -> x % 2 == 0);
+    }
+
+    @Benchmark
+    public List<Integer> flatMap() {
+        return list.flatMap(x -> List.list(x, -x));
+    }
+
+    @Benchmark
+    public List<Integer> mapThenFilter() {
+        return list.map(x -> x + 1).filter(x -> x % 2 == 0);
+    }
+
+    @Benchmark
+    public List<Integer> mapFilter() {
+        return list.mapFilter(x -> x + 1, x -> x % 2 == 0);
+    }
+
+    @Benchmark
+    public List<Integer> filterThenMap() {
+        return list.filter(x -> x % 2 == 0).map(x -> x + 1);
+    }
+
+    @Benchmark
+    public List<Integer> filterMap() {
+        return list.filterMap(x -> x % 2 == 0, x -> x + 1);
+    }
+
+    @Benchmark
+    public Integer foldLeft() {
+        return list.foldLeft(0, x -> y -> x + y);
+    }
+
+    // the capturing x -> ... closure is no longer created per element
+    @Benchmark
+    public Integer foldLeftUncurried() {
+        return list.foldLeft(0, (x, y) -> x + y);
+    }
+
+    @Benchmark
+    public Integer foldRight() {
+        return list.foldRight(0, x -> y -> x + y);
+    }
+
+    @Benchmark
+    public Integer foldRightUncurried() {
+        return list.foldRight(0, (x, y) -> x + y);
+    }
+
+    @Benchmark
+    public List<Integer> zipWith() {
+        return list.zipWith(other, (x, y) -> x + y);
+    }
+
+    @Benchmark
+    public List<Integer> reverse() {
+        return list.reverse();
+    }
+
+    @Benchmark
+    public List<Integer> concat() {
+        return List.concat(list, other);
+    }
+}
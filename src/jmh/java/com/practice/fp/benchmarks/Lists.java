@@ -0,0 +1,31 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.List;
+
+import java.util.ArrayList;
+
+/**
+ * shared fixtures for benchmarks
+ */
+final class Lists {
+
+    private Lists() {}
+
+    // commons.List of 0 until size
+    static List<Integer> range(int size) {
+        List<Integer> result = List.list();
+        for (int i = size - 1; i >= 0; i--) {
+            result = result.cons(i);
+        }
+        return result;
+    }
+
+    // java.util.List of 0 until size
+    static java.util.List<Integer> javaRange(int size) {
+        java.util.List<Integer> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+}
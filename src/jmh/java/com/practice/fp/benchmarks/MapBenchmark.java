@@ -0,0 +1,82 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.Map;
+import com.practice.fp.commons.Option;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * persistent hash trie (commons.Map) against ConcurrentHashMap
+ * build: insert every key, get: one lookup per call on a filled map
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    Integer[] keys;
+    Map<Integer, Integer> map;
+    ConcurrentHashMap<Integer, Integer> chm;
+
+    @Setup
+    public void setup() {
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i * 31;
+        }
+        map = buildTransient();
+        chm = buildConcurrentHashMap();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> buildPersistent() {
+        Map<Integer, Integer> result = Map.empty();
+        for (Integer key : keys) {
+            result = result.put(key, key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> buildTransient() {
+        Map.Transient<Integer, Integer> result = Map.<Integer, Integer>empty().asTransient();
+        for (Integer key : keys) {
+            result.put(key, key);
+        }
+        return result.persistent();
+    }
+
+    @Benchmark
+    public ConcurrentHashMap<Integer, Integer> buildConcurrentHashMap() {
+        ConcurrentHashMap<Integer, Integer> result = new ConcurrentHashMap<>();
+        for (Integer key : keys) {
+            result.put(key, key);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Option<Integer> getPersistent(Cursor cursor) {
+        return map.get(keys[cursor.i++ % size]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer getConcurrentHashMap(Cursor cursor) {
+        return chm.get(keys[cursor.i++ % size]);
+    }
+}
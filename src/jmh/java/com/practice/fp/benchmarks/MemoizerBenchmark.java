@@ -0,0 +1,170 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.BoundedMemoizer;
+import com.practice.fp.commons.Function;
+import com.practice.fp.commons.Memoizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * throughput of memoized functions on cache hits and misses
+ * hits and misses are measured at 1, 2, 4, 8 and all threads to show how the caches scale,
+ * the thread count can also be overridden from the command line with -t
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoizerBenchmark {
+
+    private static final int HOT_KEYS = 1024;
+
+    Function<Integer, Integer> memoized;
+    Function<Integer, Integer> lru;
+    Function<Integer, Integer> lfu;
+    Function<Integer, Integer> singleFlight;
+    AtomicInteger next;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        memoized = Memoizer.memoize(x -> x * 10);
+        lru = Memoizer.builder().maximumSize(HOT_KEYS).policy(BoundedMemoizer.Policy.LRU).memoize(x -> x * 10);
+        singleFlight = Memoizer.memoizeSingleFlight(x -> x * 10);
+        lfu = Memoizer.builder().maximumSize(HOT_KEYS).policy(BoundedMemoizer.Policy.LFU).memoize(x -> x * 10);
+        for (int i = 0; i < HOT_KEYS; i++) {
+            memoized.apply(i);
+            lru.apply(i);
+            lfu.apply(i);
+            singleFlight.apply(i);
+        }
+        next = new AtomicInteger(HOT_KEYS);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+
+        int nextHot() {
+            return i++ & (HOT_KEYS - 1);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer hitSingleThread(Cursor cursor) {
+        return memoized.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer hit2Threads(Cursor cursor) {
+        return memoized.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer hit4Threads(Cursor cursor) {
+        return memoized.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer hit8Threads(Cursor cursor) {
+        return memoized.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer hitAllThreads(Cursor cursor) {
+        return memoized.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer missSingleThread() {
+        return memoized.apply(next.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer miss2Threads() {
+        return memoized.apply(next.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer miss4Threads() {
+        return memoized.apply(next.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer miss8Threads() {
+        return memoized.apply(next.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer missAllThreads() {
+        return memoized.apply(next.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer lruHitSingleThread(Cursor cursor) {
+        return lru.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer lruHit2Threads(Cursor cursor) {
+        return lru.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer lruHit4Threads(Cursor cursor) {
+        return lru.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer lruHit8Threads(Cursor cursor) {
+        return lru.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer lruHitAllThreads(Cursor cursor) {
+        return lru.apply(cursor.nextHot());
+    }
+
+    // every miss evicts (LRU) or is rejected by admission (LFU)
+    @Benchmark
+    @Threads(1)
+    public Integer lruMissSingleThread() {
+        return lru.apply(next.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer lfuMissSingleThread() {
+        return lfu.apply(next.getAndIncrement());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer singleFlightHitAllThreads(Cursor cursor) {
+        return singleFlight.apply(cursor.nextHot());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Integer singleFlightMissAllThreads() {
+        return singleFlight.apply(next.getAndIncrement());
+    }
+}
@@ -0,0 +1,99 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.chapters.chap7.Customer;
+import com.practice.fp.chapters.chap7.Map;
+import com.practice.fp.commons.Option;
+import com.practice.fp.commons.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * map/flatMap/filter chains on Option and Result, modeled on the Customer::getEmail lookups of chap7.ResultTest
+ * run with -Djmh.args="OptionResultBenchmark -prof gc":
+ * the empty and failure chains should show gc.alloc.rate.norm = 0 B/op,
+ * the success chains one object per map step
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptionResultBenchmark {
+
+    Map<String, Customer> customers;
+    Result<String> withEmail;
+    Result<String> withoutEmail;
+    Result<String> failure;
+    Option<Integer> some;
+    Option<Integer> none;
+
+    @Setup
+    public void setup() {
+        customers = new Map<String, Customer>()
+                .put("customer1", new Customer("first1", "last1", "email1@g.com"))
+                .put("customer2", new Customer("first2", "last2"));
+        withEmail = Result.success("customer1");
+        withoutEmail = Result.success("customer2");
+        failure = Result.failure(new IOException("test exception"));
+        some = Option.some(42);
+        none = Option.none();
+    }
+
+    @Benchmark
+    public Result<String> emailFound() {
+        return withEmail.flatMap(customers::get).flatMap(Customer::getEmail);
+    }
+
+    @Benchmark
+    public Result<String> emailEmpty() {
+        return withoutEmail.flatMap(customers::get).flatMap(Customer::getEmail);
+    }
+
+    // no capturing lambda, so only the chain itself can allocate
+    @Benchmark
+    public Result<Integer> failureChain() {
+        return failure.map(String::length).filter(OptionResultBenchmark::positive).flatMap(Result::success);
+    }
+
+    @Benchmark
+    public Option<Integer> noneChain() {
+        return none.map(OptionResultBenchmark::increment).filter(OptionResultBenchmark::positive).flatMap(Option::some);
+    }
+
+    @Benchmark
+    public Option<Integer> someChain() {
+        return some.map(OptionResultBenchmark::increment).filter(OptionResultBenchmark::positive).flatMap(Option::some);
+    }
+
+    // failures from a message capture no stack trace and format lazily
+    @Benchmark
+    public Result<Integer> createFailure() {
+        return Result.failure("invalid value");
+    }
+
+    @Benchmark
+    public Result<Integer> createFailureWithStackTrace() {
+        return Result.failureWithStackTrace("invalid value");
+    }
+
+    @Benchmark
+    public Result<Integer> createFailureMapped() {
+        return Result.<Integer>failure(() -> String.format("invalid value %s", 42)).mapFailure("validation failed");
+    }
+
+    @Benchmark
+    public Option<Integer> noneFactory() {
+        return Option.none();
+    }
+
+    private static Integer increment(Integer x) {
+        return x + 1;
+    }
+
+    private static Boolean positive(Integer x) {
+        return x > 0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.List;
+import com.practice.fp.commons.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * scaling of parFoldLeft and parMap with the number of workers
+ * threads = 1 is the baseline, compare with foldLeft/map for the parallel overhead
+ * and with the parallelStream benchmarks for the jdk stream over the List spliterator
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelListBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    List<Integer> list;
+    ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        list = Lists.range(size);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Double foldLeft() {
+        return list.foldLeft(0.0, acc -> x -> acc + Math.sqrt(x));
+    }
+
+    @Benchmark
+    public Result<Double> parFoldLeft() {
+        return list.parFoldLeft(pool, 0.0, acc -> x -> acc + Math.sqrt(x), x -> y -> x + y);
+    }
+
+    @Benchmark
+    public List<Double> map() {
+        return list.map(Math::sqrt);
+    }
+
+    @Benchmark
+    public Result<List<Double>> parMap() {
+        return list.parMap(pool, Math::sqrt);
+    }
+
+    // jdk parallel stream over the list spliterator, run in the pool to honour threads
+    @Benchmark
+    public double parallelStreamSum() {
+        return pool.submit(() -> list.parallelStream().mapToDouble(Math::sqrt).sum()).join();
+    }
+
+    @Benchmark
+    public List<Double> parallelStreamCollect() {
+        return pool.submit(() -> list.parallelStream().map(Math::sqrt).collect(List.collector())).join();
+    }
+}
@@ -0,0 +1,49 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.Function;
+import com.practice.fp.commons.IntToIntFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the same 3-stage numeric pipeline composed from Function<Integer, Integer> and from IntToIntFunction
+ * run with -Djmh.args="PrimitiveFunctionBenchmark -prof gc": the unboxed pipeline should allocate nothing
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveFunctionBenchmark {
+
+    // outside of the Integer cache, so boxing allocates
+    int input = 100_000;
+
+    Function<Integer, Integer> boxed;
+    IntToIntFunction unboxed;
+
+    @Setup
+    public void setup() {
+        Function<Integer, Integer> plus10 = x -> x + 10;
+        Function<Integer, Integer> multiply3 = x -> x * 3;
+        Function<Integer, Integer> minus1 = x -> x - 1;
+        boxed = plus10.compose(multiply3).andThen(minus1);
+
+        IntToIntFunction plus10Int = x -> x + 10;
+        IntToIntFunction multiply3Int = x -> x * 3;
+        IntToIntFunction minus1Int = x -> x - 1;
+        unboxed = plus10Int.compose(multiply3Int).andThen(minus1Int);
+    }
+
+    @Benchmark
+    public Integer composeBoxed() {
+        return boxed.apply(input);
+    }
+
+    @Benchmark
+    public int composeUnboxed() {
+        return unboxed.apply(input);
+    }
+}
@@ -0,0 +1,90 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.DoubleList;
+import com.practice.fp.commons.IntList;
+import com.practice.fp.commons.List;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * boxed commons.List against the unboxed IntList/DoubleList
+ * run with -Djmh.args="PrimitiveListBenchmark -prof gc": the primitive folds should allocate nothing
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    List<Integer> boxed;
+    List<Double> boxedDoubles;
+    IntList ints;
+    DoubleList doubles;
+
+    @Setup
+    public void setup() {
+        boxed = Lists.range(size);
+        boxedDoubles = boxed.map(x -> 1.0 + 1.0 / (x + 1));
+        ints = IntList.range(0, size);
+        doubles = DoubleList.fromList(boxedDoubles);
+    }
+
+    @Benchmark
+    public Integer sumBoxed() {
+        return boxed.foldLeft(0, acc -> x -> acc + x);
+    }
+
+    @Benchmark
+    public int sumUnboxed() {
+        return ints.sum();
+    }
+
+    @Benchmark
+    public int foldUnboxed() {
+        return ints.foldLeft(0, (acc, x) -> acc + x);
+    }
+
+    @Benchmark
+    public Double productBoxed() {
+        return boxedDoubles.foldLeft(1.0, acc -> x -> acc * x);
+    }
+
+    @Benchmark
+    public double productUnboxed() {
+        return doubles.product();
+    }
+
+    @Benchmark
+    public List<Integer> mapFilterBoxed() {
+        return boxed.map(x -> x * 3).filter(x -> x % 2 == 0);
+    }
+
+    @Benchmark
+    public IntList mapFilterUnboxed() {
+        return ints.map(x -> x * 3).filter(x -> x % 2 == 0);
+    }
+
+    @Benchmark
+    public List<Integer> consBoxed() {
+        List<Integer> result = List.list();
+        for (int i = 0; i < size; i++) {
+            result = result.cons(i);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public IntList consUnboxed() {
+        IntList result = IntList.empty();
+        for (int i = 0; i < size; i++) {
+            result = result.cons(i);
+        }
+        return result;
+    }
+}
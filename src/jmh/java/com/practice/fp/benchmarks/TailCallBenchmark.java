@@ -0,0 +1,74 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.List;
+import com.practice.fp.commons.TailCall;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.practice.fp.commons.TailCall.loop;
+import static com.practice.fp.commons.TailCall.ret;
+import static com.practice.fp.commons.TailCall.sus;
+
+/**
+ * cost of TailCall.eval() as the recursion depth grows
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TailCallBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int depth;
+
+    List<Integer> list;
+
+    @Setup
+    public void setup() {
+        list = Lists.range(depth);
+    }
+
+    @Benchmark
+    public Integer sumSuspend() {
+        return sum_(0, depth).eval();
+    }
+
+    // reused frame, but acc and n are boxed on every step
+    @Benchmark
+    public Integer sumFrame() {
+        return loop(0, depth, (frame, acc, n) -> n == 0
+                ? frame.ret(acc)
+                : frame.sus(acc + n, n - 1));
+    }
+
+    // unboxed baseline
+    @Benchmark
+    public int sumLoop() {
+        int acc = 0;
+        for (int n = depth; n > 0; n--) {
+            acc += n;
+        }
+        return acc;
+    }
+
+    // reverse-based
+    @Benchmark
+    public Long foldRightReverse() {
+        return list.foldRight(0L, x -> y -> y + x);
+    }
+
+    // non-tail recursion trampolined with TailCall.map
+    @Benchmark
+    public Long foldRightFlatMap() {
+        return List.foldRightViaTailCall(list, 0L, x -> y -> y + x);
+    }
+
+    private static TailCall<Integer> sum_(Integer acc, int n) {
+        return n == 0
+                ? ret(acc)
+                : sus(() -> sum_(acc + n, n - 1));
+    }
+}
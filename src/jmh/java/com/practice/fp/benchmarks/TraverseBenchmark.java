@@ -0,0 +1,86 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.Either;
+import com.practice.fp.commons.List;
+import com.practice.fp.commons.Option;
+import com.practice.fp.commons.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * single-pass traverse of Option, Result and Either against the former foldRight + map2 Option.traverse
+ * the *AllSuccess cases map every element, the *FailFirst cases fail on the first element
+ * and the *FailLast cases on the last one
+ * run with -Djmh.args="TraverseBenchmark -prof gc" to compare gc.alloc.rate.norm (bytes per operation)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TraverseBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int size;
+
+    List<Integer> list;
+    int last;
+
+    @Setup
+    public void setup() {
+        list = Lists.range(size);
+        last = size - 1;
+    }
+
+    @Benchmark
+    public Option<List<Integer>> optionViaFoldRightAllSuccess() {
+        return Option.traverseViaFoldRight(list, Option::some);
+    }
+
+    @Benchmark
+    public Option<List<Integer>> optionAllSuccess() {
+        return Option.traverse(list, Option::some);
+    }
+
+    @Benchmark
+    public Option<List<Integer>> optionViaFoldRightFailFirst() {
+        return Option.traverseViaFoldRight(list, x -> x == 0 ? Option.none() : Option.some(x));
+    }
+
+    @Benchmark
+    public Option<List<Integer>> optionFailFirst() {
+        return Option.traverse(list, x -> x == 0 ? Option.none() : Option.some(x));
+    }
+
+    @Benchmark
+    public Option<List<Integer>> optionViaFoldRightFailLast() {
+        return Option.traverseViaFoldRight(list, x -> x == last ? Option.none() : Option.some(x));
+    }
+
+    @Benchmark
+    public Option<List<Integer>> optionFailLast() {
+        return Option.traverse(list, x -> x == last ? Option.none() : Option.some(x));
+    }
+
+    @Benchmark
+    public Result<List<Integer>> resultAllSuccess() {
+        return Result.traverse(list, Result::success);
+    }
+
+    @Benchmark
+    public Result<List<Integer>> resultFailFirst() {
+        return Result.traverse(list, x -> x == 0 ? Result.failure("invalid value") : Result.success(x));
+    }
+
+    @Benchmark
+    public Either<String, List<Integer>> eitherAllSuccess() {
+        return Either.traverse(list, Either::right);
+    }
+
+    @Benchmark
+    public Either<String, List<Integer>> eitherFailFirst() {
+        return Either.traverse(list, x -> x == 0 ? Either.left("invalid value") : Either.right(x));
+    }
+}
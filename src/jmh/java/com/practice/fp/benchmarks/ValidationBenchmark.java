@@ -0,0 +1,83 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.List;
+import com.practice.fp.commons.Result;
+import com.practice.fp.commons.Validation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * validation of 10^6 records (name, email, age) with errorRate percent of invalid records
+ * validation reports every error with map3 + traverse, result stops at the first one with Result.traverse
+ * run with -Djmh.args="ValidationBenchmark -prof gc" to compare gc.alloc.rate.norm (bytes per operation)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    static final Pattern emailPattern = Pattern.compile("^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z]{2,4}$");
+
+    @Param({"0", "1", "10", "50"})
+    int errorRate;
+
+    int size = 1_000_000;
+
+    List<Person> records;
+
+    @Setup
+    public void setup() {
+        List<Person> result = List.list();
+        for (int i = size - 1; i >= 0; i--) {
+            boolean invalid = i % 100 < errorRate;
+            // invalid records have one or two wrong fields
+            result = result.cons(new Person(
+                    "name" + i,
+                    invalid ? "email" + i : "email" + i + "@mail.com",
+                    invalid && i % 2 == 0 ? -1 : 30));
+        }
+        records = result;
+    }
+
+    @Benchmark
+    public Validation<String, List<Person>> validation() {
+        return Validation.traverse(records, ValidationBenchmark::validate);
+    }
+
+    @Benchmark
+    public Result<List<Person>> result() {
+        return Result.traverse(records, ValidationBenchmark::check);
+    }
+
+    static Validation<String, Person> validate(Person p) {
+        return Validation.map3(
+                Validation.of(name -> !name.isEmpty(), p.name, "empty name"),
+                Validation.of(email -> emailPattern.matcher(email).matches(), p.email, "invalid email"),
+                Validation.of(age -> age >= 0, p.age, "negative age"),
+                (name, email, age) -> p);
+    }
+
+    static Result<Person> check(Person p) {
+        return Result.of(name -> !name.isEmpty(), p.name, "empty name")
+                .flatMap(name -> Result.of(email -> emailPattern.matcher(email).matches(), p.email, "invalid email"))
+                .flatMap(email -> Result.of(age -> age >= 0, p.age, "negative age"))
+                .map(age -> p);
+    }
+
+    static final class Person {
+        final String name;
+        final String email;
+        final int age;
+
+        Person(String name, String email, int age) {
+            this.name = name;
+            this.email = email;
+            this.age = age;
+        }
+    }
+}
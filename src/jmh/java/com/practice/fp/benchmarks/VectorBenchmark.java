@@ -0,0 +1,73 @@
+package com.practice.fp.benchmarks;
+
+import com.practice.fp.commons.List;
+import com.practice.fp.commons.Vector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * append-heavy and random-access workloads on Vector
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VectorBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int size;
+
+    Vector<Integer> vector;
+    List<Integer> list;
+
+    @Setup
+    public void setup() {
+        list = Lists.range(size);
+        vector = Vector.fromList(list);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+    }
+
+    @Benchmark
+    public Vector<Integer> append() {
+        Vector<Integer> result = Vector.empty();
+        for (int i = 0; i < size; i++) {
+            result = result.append(i);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer get(Cursor cursor) {
+        return vector.get(cursor.i++ % size);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Vector<Integer> update(Cursor cursor) {
+        return vector.update(cursor.i++ % size, -1);
+    }
+
+    @Benchmark
+    public Integer foldLeft() {
+        return vector.foldLeft(0, x -> y -> x + y);
+    }
+
+    @Benchmark
+    public Vector<Integer> fromList() {
+        return Vector.fromList(list);
+    }
+
+    // List has no append: init is the closest operation touching the end
+    @Benchmark
+    public List<Integer> listInit() {
+        return list.init();
+    }
+}
@@ -1,6 +1,10 @@
 package com.practice.fp.chapters.chap2;
 
 import com.practice.fp.commons.Function;
+import com.practice.fp.commons.IntToIntFunction;
+import com.practice.fp.commons.TailCall;
+
+import java.math.BigInteger;
 
 public class Factorial {
 
@@ -9,4 +13,12 @@ public class Factorial {
     }
 
     public static Function<Integer, Integer> factorial = n -> n <= 1 ? n : n * Factorial.factorial.apply(n - 1);
+
+    // same as factorial without boxing n and the intermediate products
+    public static IntToIntFunction factorialUnboxed = n -> n <= 1 ? n : n * Factorial.factorialUnboxed.apply(n - 1);
+
+    // same recursion as factorial, in constant stack for any n
+    public static Function<Integer, BigInteger> factorialSafe = Function.recursive(self -> n -> n <= 1
+            ? TailCall.ret(BigInteger.ONE)
+            : self.apply(n - 1).map(x -> x.multiply(BigInteger.valueOf(n))));
 }
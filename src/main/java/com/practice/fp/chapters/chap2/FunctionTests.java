@@ -1,6 +1,7 @@
 package com.practice.fp.chapters.chap2;
 
 import com.practice.fp.commons.Function;
+import com.practice.fp.commons.IntToIntFunction;
 
 public class FunctionTests {
 
@@ -42,6 +43,15 @@ public class FunctionTests {
         System.out.println("higher andThen curry (30 + 10) * 3: " +
                 Function.<Integer, Integer, Integer>higherAndThen().apply(plus10).apply(multiply3).apply(30));
 
+        // unboxed compose: no Integer between the stages
+        IntToIntFunction plus10Int = num -> num + 10;
+        IntToIntFunction multiply3Int = num -> num * 3;
+        System.out.println("unboxed compose plus10 and multiply3: " + plus10Int.compose(multiply3Int).apply(5));
+        System.out.println("unboxed andThen plus10 and multiply3: " + plus10Int.andThen(multiply3Int).apply(5));
+        System.out.println("unboxed compose curry (30 + 10) * 3: " +
+                IntToIntFunction.compose().apply(plus10Int).apply(multiply3Int).apply(30));
+        System.out.println("boxed bridge: " + plus10Int.boxed().andThen(multiply3).apply(5));
+
         // reverse args
         Function<Double, Function<Double, Double>> funcToReverse = x -> y -> x * x * 10 - y;
         System.out.println("funcToReverse: 2 * 2 * 10 - 10 " + funcToReverse.apply(2D).apply(10D));
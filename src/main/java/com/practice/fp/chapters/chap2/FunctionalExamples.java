@@ -41,6 +41,8 @@ public class FunctionalExamples {
 
         System.out.println("factorial of 10: " + Factorial.factorial(10));
         System.out.println("factorial of 5: " + Factorial.factorial.apply(5));
+        System.out.println("factorial of 5 unboxed: " + Factorial.factorialUnboxed.apply(5));
+        System.out.println("factorial of 20000 stack-safe, bit length: " + Factorial.factorialSafe.apply(20000).bitLength());
     }
 
     /**
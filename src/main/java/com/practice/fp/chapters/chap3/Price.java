@@ -1,6 +1,6 @@
 package com.practice.fp.chapters.chap3;
 
-import com.practice.fp.commons.Function;
+import com.practice.fp.commons.Function2;
 
 public class Price {
 
@@ -36,5 +36,6 @@ public class Price {
         return Double.toString(this.value);
     }
 
-    public static Function<Price, Function<OrderLine, Price>> sum = x -> y -> x.add(y.getAmount());
+    // uncurried: folding the order lines creates no closure per line
+    public static Function2<Price, OrderLine, Price> sum = (x, y) -> x.add(y.getAmount());
 }
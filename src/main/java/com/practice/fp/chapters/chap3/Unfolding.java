@@ -1,8 +1,12 @@
 package com.practice.fp.chapters.chap3;
 
+import com.practice.fp.commons.Stream;
+import com.practice.fp.commons.TailCall;
+
 import java.util.List;
 
 import static com.practice.fp.collections.CollectionUtilities.*;
+import static com.practice.fp.commons.TailCall.*;
 
 public class Unfolding {
 
@@ -13,6 +17,25 @@ public class Unfolding {
         System.out.println("range: " + range(1, 5));
 
         System.out.println("rangeRecursive: " + rangeRecursive(5, 10));
+
+        System.out.println("rangeRecursive stack-safe: " + rangeRecursiveSafe(5, 10));
+
+        System.out.println("first 10 primes above 1000000: " + primesAbove(1_000_000).take(10).toList());
+    }
+
+    /**
+     * infinite and lazy: only the numbers up to the primes consumed are tested
+     * @param n
+     * @return
+     */
+    static Stream<Integer> primesAbove(int n) {
+        return Stream.from(n + 1).filter(Unfolding::isPrime);
+    }
+
+    private static boolean isPrime(int n) {
+        return n > 1 && !Stream.from(2)
+                .takeWhile(d -> d * d <= n)
+                .exists(d -> n % d == 0);
     }
 
     static List<Integer> range(Integer start, Integer end) {
@@ -24,4 +47,20 @@ public class Unfolding {
                 ? list()
                 : prepend(start, rangeRecursive(start + 1, end));
     }
+
+    /**
+     * same recursion as rangeRecursive, trampolined with TailCall.map
+     * @param start
+     * @param end
+     * @return
+     */
+    static List<Integer> rangeRecursiveSafe(Integer start, Integer end) {
+        return rangeRecursive_(start, end).eval();
+    }
+
+    static TailCall<List<Integer>> rangeRecursive_(Integer start, Integer end) {
+        return end <= start
+                ? ret(list())
+                : sus(() -> rangeRecursive_(start + 1, end)).map(xs -> prepend(start, xs));
+    }
 }
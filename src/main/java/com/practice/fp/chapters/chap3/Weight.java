@@ -1,6 +1,6 @@
 package com.practice.fp.chapters.chap3;
 
-import com.practice.fp.commons.Function;
+import com.practice.fp.commons.Function2;
 
 public class Weight {
 
@@ -36,5 +36,6 @@ public class Weight {
         return Double.toString(this.value);
     }
 
-    public static Function<Weight, Function<OrderLine, Weight>> sum = x -> y -> x.add(y.getWeight());
+    // uncurried: folding the order lines creates no closure per line
+    public static Function2<Weight, OrderLine, Weight> sum = (x, y) -> x.add(y.getWeight());
 }
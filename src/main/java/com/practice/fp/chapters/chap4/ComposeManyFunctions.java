@@ -1,7 +1,31 @@
 package com.practice.fp.chapters.chap4;
 
+import com.practice.fp.commons.Function;
+import com.practice.fp.commons.List;
+
 public class ComposeManyFunctions {
     public static void main(String[] args) {
+        int n = 100_000;
+
+        List<Function<Integer, Integer>> plusOnes = List.list();
+        for (int i = 0; i < n; i++) {
+            plusOnes = plusOnes.cons(x -> x + 1);
+        }
+
+        // nesting 100 000 lambdas overflows the stack when applied:
+        // plusOnes.foldLeft(Function.<Integer>identity(), f -> g -> f.andThen(g)).apply(0)
+
+        System.out.println("andThenAll: " + Function.andThenAll(plusOnes).apply(0));
+        Function<Integer, Integer> times2 = x -> x * 2;
+        Function<Integer, Integer> plus3 = x -> x + 3;
+        System.out.println("composeAll (1 + 3) * 2: " + Function.composeAll(List.list(times2, plus3)).apply(1));
 
+        // a chain stays flat when built one function at a time,
+        // each step copies the stages, so long chains are better built with andThenAll
+        Function<Integer, Integer> chain = Function.chain(Function.identity());
+        for (int i = 0; i < 1_000; i++) {
+            chain = chain.andThen(x -> x + 2);
+        }
+        System.out.println("chain andThen: " + chain.apply(0));
     }
 }
@@ -1,5 +1,6 @@
 package com.practice.fp.chapters.chap4;
 
+import com.practice.fp.commons.Fibonacci;
 import com.practice.fp.commons.TailCall;
 
 import java.math.BigInteger;
@@ -14,6 +15,12 @@ public class Fibonanci {
         System.out.println("fibonacci dual recursive: " + fib(BigInteger.valueOf(1000)));
 
         System.out.println("fibonacci stack safe by TailCall: " + fibSafe(BigInteger.valueOf(10000)));
+
+        System.out.println("fibonacci stack safe by TailCall.loop: " + fibLoop(BigInteger.valueOf(10000)));
+
+        System.out.println("fibonacci fast doubling: " + Fibonacci.fibonacci(10000));
+
+        System.out.println("lucas fast doubling: " + Fibonacci.lucas(100));
     }
 
     public static int fibonacci(int number) {
@@ -65,4 +72,21 @@ public class Fibonanci {
             return sus(() -> fibSafe_(acc2, acc1.add(acc2), n.subtract(BigInteger.ONE)));
         }
     }
+
+    /**
+     * stack safe version without a Suspend per step
+     * @param n
+     * @return
+     */
+    public static BigInteger fibLoop(BigInteger n) {
+        return loop(BigInteger.ONE, BigInteger.ZERO, n, (frame, acc1, acc2, i) -> {
+            if (i.equals(BigInteger.ZERO)) {
+                return frame.ret(BigInteger.ZERO);
+            } else if (i.equals(BigInteger.ONE)) {
+                return frame.ret(acc1.add(acc2));
+            } else {
+                return frame.sus(acc2, acc1.add(acc2), i.subtract(BigInteger.ONE));
+            }
+        });
+    }
 }
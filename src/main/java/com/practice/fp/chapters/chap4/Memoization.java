@@ -4,7 +4,11 @@ package com.practice.fp.chapters.chap4;
 import com.practice.fp.commons.*;
 
 import java.math.BigInteger;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.practice.fp.collections.CollectionUtilities.*;
 import static com.practice.fp.commons.TailCall.*;
@@ -20,6 +24,10 @@ public class Memoization {
         testMemoizerSingleParam();
         testMemoizerCurriedFunc();
         testMemoizerTupleFunc();
+        testBoundedMemoizer();
+        testAsyncMemoizer();
+
+        System.out.println("recursive fibonacci with single-flight memoization: " + fibMemo.apply(200));
     }
 
     static String fibString(BigInteger limit) {
@@ -43,6 +51,11 @@ public class Memoization {
                     : head(list) + foldLeft(tail(list), "", x -> y -> x + separator + y);
     }
 
+    // computeIfAbsent would throw "Recursive update" here
+    static Function<Integer, BigInteger> fibMemo = Memoizer.memoizeSingleFlight(n -> n <= 1
+            ? BigInteger.valueOf(n)
+            : Memoization.fibMemo.apply(n - 1).add(Memoization.fibMemo.apply(n - 2)));
+
     static Integer longCalculation(Integer number) {
         try {
             Thread.sleep(1_000);
@@ -73,9 +86,7 @@ public class Memoization {
 
     static Function<Integer, Function<Integer, Function<Integer, Integer>>> func2 = x -> y -> z -> x + y * z;
     static Function<Integer, Function<Integer, Function<Integer, Integer>>> memoizedFunc2 =
-            Memoizer.memoize(x ->
-                    Memoizer.memoize(y ->
-                            Memoizer.memoize(z -> longCalculation(x) + longCalculation(y) * longCalculation(z))));
+            Memoizer.memoize3(x -> y -> z -> longCalculation(x) + longCalculation(y) * longCalculation(z));
 
     static void testMemoizerCurriedFunc() {
         long startTime = System.currentTimeMillis();
@@ -95,7 +106,7 @@ public class Memoization {
 
     static Function<Tuple3<Integer, Integer, Integer>, Integer> func3 =
             tup -> longCalculation(tup._1) + longCalculation(tup._2) * longCalculation(tup._3);
-    static Function<Tuple3<Integer, Integer, Integer>, Integer> memoizedFunc3 = Memoizer.memoize(func3);
+    static Function<Tuple3<Integer, Integer, Integer>, Integer> memoizedFunc3 = Memoizer.memoizeTuple3(func3);
 
     static void testMemoizerTupleFunc() {
         long startTime = System.currentTimeMillis();
@@ -114,4 +125,44 @@ public class Memoization {
         System.out.println("third calculation: " + memoizedFunc3.apply(new Tuple3<>(2, 3, 6)));
         System.out.println("time executed testMemoizerTupleFunc 3: " + (System.currentTimeMillis() - startTime));
     }
+
+    static BoundedMemoizer<Integer, Integer> boundedFunc1 = Memoizer.builder()
+            .maximumSize(2)
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .policy(BoundedMemoizer.Policy.LRU)
+            .memoize(func1);
+
+    static void testBoundedMemoizer() {
+        System.out.println("===========================================");
+        System.out.println("testBoundedMemoizer");
+        boundedFunc1.apply(1);
+        boundedFunc1.apply(2);
+        boundedFunc1.apply(1);
+        boundedFunc1.apply(3);
+        System.out.println("size: " + boundedFunc1.size() + ", " + boundedFunc1.stats());
+    }
+
+    // the loads sleep, so they run on their own pool instead of blocking common-pool threads,
+    // and the results are only joined from main
+    static ExecutorService asyncExecutor = Executors.newFixedThreadPool(2);
+
+    static AsyncMemoizer<Integer, Integer> asyncFunc1 = Memoizer.async()
+            .executor(asyncExecutor)
+            .refreshAfterWrite(Duration.ofSeconds(2))
+            .memoize(number -> CompletableFuture.supplyAsync(() -> longCalculation(number), asyncExecutor));
+
+    static void testAsyncMemoizer() {
+        long startTime = System.currentTimeMillis();
+        System.out.println("===========================================");
+        System.out.println("testAsyncMemoizer");
+        CompletableFuture<Integer> first = asyncFunc1.apply(200);
+        CompletableFuture<Integer> concurrent = asyncFunc1.apply(200);
+        System.out.println("first calculation: " + first.join() + ", " + concurrent.join());
+        System.out.println("time executed 1: " + (System.currentTimeMillis() - startTime));
+
+        startTime = System.currentTimeMillis();
+        System.out.println("second calculation: " + asyncFunc1.apply(200).join());
+        System.out.println("time executed 2: " + (System.currentTimeMillis() - startTime));
+        asyncExecutor.shutdown();
+    }
 }
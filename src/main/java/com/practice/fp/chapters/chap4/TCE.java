@@ -3,6 +3,7 @@ package com.practice.fp.chapters.chap4;
 
 import com.practice.fp.commons.Function;
 import com.practice.fp.commons.TailCall;
+import com.practice.fp.commons.Tuple;
 
 import java.util.List;
 import static com.practice.fp.collections.CollectionUtilities.*;
@@ -13,9 +14,11 @@ public class TCE {
 
         System.out.println("add normally: " + add(12, 13));
 
-        //System.out.println("addTCE value: " + addTCE(1, 20000000).eval());
+        System.out.println("addTCE value: " + addTCE(1, 20000000).eval());
 
-        //System.out.println("addTCE function: " + addTCE.apply(100).apply(100000000).eval());
+        System.out.println("addTCE function: " + addTCE.apply(100).apply(100000000).eval());
+
+        System.out.println("addRecursive function: " + addRecursive.apply(new Tuple<>(1, 20000000)));
 
         System.out.println("sum without tail recursive: " + sum(list(1, 2, 3, 4)));
 
@@ -39,6 +42,11 @@ public class TCE {
                     ? TailCall.ret(x)
                     : TailCall.sus(() -> TCE.addTCE.apply(x + 1).apply(y - 1));
 
+    // same as addTCE, the suspension is done by Function.recursive
+    static Function<Tuple<Integer, Integer>, Integer> addRecursive = Function.recursive(self -> t -> t._2 == 0
+            ? TailCall.ret(t._1)
+            : self.apply(new Tuple<>(t._1 + 1, t._2 - 1)));
+
     static Integer sum(List<Integer> list) {
         return list.isEmpty()
                 ? 0
@@ -1,5 +1,6 @@
 package com.practice.fp.chapters.chap5;
 
+import com.practice.fp.commons.IntList;
 import com.practice.fp.commons.List;
 import com.practice.fp.commons.TailCall;
 
@@ -18,6 +19,8 @@ public class ListExamples {
         System.out.println("list cons(): " + list1.cons(33));
 
         System.out.println("sum all items: " + sum(list1));
+        System.out.println("sum all items with a reused frame: " + sumLoop(list1));
+        System.out.println("sum all items unboxed: " + IntList.fromList(list1).sum());
 
         System.out.println("length of the list by foldRight: " + List.foldRight(list1, 0, x -> y -> y + 1));
 
@@ -63,4 +66,15 @@ public class ListExamples {
                 ? ret(acc)
                 : sus(() -> product_(acc * list.head(), list.tail()));
     }
+
+    /**
+     * same as sum_ but the frame is reused for every step
+     * @param list
+     * @return
+     */
+    static Integer sumLoop(List<Integer> list) {
+        return loop(0, list, (frame, acc, xs) -> xs.isEmpty()
+                ? frame.ret(acc)
+                : frame.sus(acc + xs.head(), xs.tail()));
+    }
 }
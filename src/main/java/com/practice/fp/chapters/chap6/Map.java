@@ -2,25 +2,34 @@ package com.practice.fp.chapters.chap6;
 
 import com.practice.fp.commons.Option;
 
-import java.util.concurrent.ConcurrentHashMap;
-
+/**
+ * immutable map, every update returns a new Map
+ * backed by the persistent hash trie of commons
+ * @param <T>
+ * @param <U>
+ */
 public class Map<T, U> {
 
-    private final ConcurrentHashMap<T, U> map = new ConcurrentHashMap<>();
+    private final com.practice.fp.commons.Map<T, U> map;
+
+    public Map() {
+        this(com.practice.fp.commons.Map.empty());
+    }
+
+    private Map(com.practice.fp.commons.Map<T, U> map) {
+        this.map = map;
+    }
 
     public static <T, U> Map<T, U> empty() {
         return new Map<>();
     }
 
     public static <T, U> Map<T, U> add(Map<T, U> m, T t, U u) {
-        m.map.put(t, u);
-        return m;
+        return new Map<>(m.map.put(t, u));
     }
 
     public Option<U> get(final T t) {
-        return this.map.containsKey(t)
-                ? Option.some(this.map.get(t))
-                : Option.none();
+        return this.map.get(t);
     }
 
     public Map<T, U> put(T t, U u) {
@@ -28,7 +37,6 @@ public class Map<T, U> {
     }
 
     public Map<T, U> removeKey(T t) {
-        this.map.remove(t);
-        return this;
+        return new Map<>(this.map.remove(t));
     }
 }
@@ -0,0 +1,38 @@
+package com.practice.fp.chapters.chap7;
+
+import com.practice.fp.commons.Function;
+import com.practice.fp.commons.List;
+import com.practice.fp.commons.Result;
+import com.practice.fp.commons.Validation;
+
+import java.util.regex.Pattern;
+
+public class ValidationTest {
+
+    static final Pattern emailPattern = Pattern.compile("^[a-z0-9._%+-]+@[a-z0-9.-]+\\.[a-z]{2,4}$");
+
+    static Function<String, Result<String>> emailChecker = email ->
+            Result.of(x -> x != null, email, "email must not be null")
+                    .filter(x -> !x.trim().isEmpty(), "email must not be empty")
+                    .filter(x -> emailPattern.matcher(x).matches(), "email " + email + " is invalid");
+
+    public static void main(String[] args) {
+        List<String> emails = List.list("dhn@gmail.com", "", "dhn", "abc@mail.com", "xyz");
+
+        // stops at the first error
+        System.out.println("result: " + Result.traverse(emails, emailChecker));
+        // reports all the errors
+        Validation<String, List<String>> validation =
+                Validation.traverse(emails, x -> emailChecker.apply(x).toValidation("no email"));
+        System.out.println("validation: " + validation);
+        System.out.println("validation errors: " + validation.errors().size());
+        System.out.println("back to result: " + validation.toResult());
+
+        Validation<String, Customer> customer = Validation.map3(
+                Validation.of(x -> !x.isEmpty(), "", "first name must not be empty"),
+                Validation.of(x -> !x.isEmpty(), "", "last name must not be empty"),
+                emailChecker.apply("dhn").toValidation("no email"),
+                (firstName, lastName, email) -> new Customer(firstName, lastName, email));
+        System.out.println("customer: " + customer);
+    }
+}
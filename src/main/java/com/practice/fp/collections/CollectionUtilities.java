@@ -2,6 +2,8 @@ package com.practice.fp.collections;
 
 import com.practice.fp.commons.Effect;
 import com.practice.fp.commons.Function;
+import com.practice.fp.commons.Function2;
+import com.practice.fp.commons.Result;
 import com.practice.fp.commons.TailCall;
 
 import java.util.*;
@@ -71,6 +73,8 @@ public class CollectionUtilities {
     }
 
     /**
+     * read-only view sharing the backing array, O(1) except on the first call on a list
+     * that was not built by CollectionUtilities, which is copied once
      * @param list
      * @param <T>
      * @return
@@ -79,21 +83,18 @@ public class CollectionUtilities {
         if (list == null || list.isEmpty()) {
             throw new IllegalStateException("tail of empty list");
         }
-        List<T> copiedList = copy(list);
-        copiedList.remove(0);
-        return Collections.unmodifiableList(copiedList);
+        return ImmutableList.tail(list);
     }
 
     /**
+     * amortized O(1): the result shares its array with list when list is the latest version
      * @param list
      * @param t
      * @param <T>
      * @return
      */
     public static <T> List<T> append(List<T> list, T t) {
-        List<T> newList = copy(list);
-        newList.add(t);
-        return Collections.unmodifiableList(newList);
+        return ImmutableList.append(list, t);
     }
 
     /**
@@ -122,6 +123,25 @@ public class CollectionUtilities {
         return result;
     }
 
+    /**
+     * foldLeft with an uncurried function: one call per element and no closure
+     * @param list
+     * @param identity
+     * @param f (acc, item) -> acc
+     * @param <T>
+     * @param <U>
+     * @return
+     */
+    public static <T, U> U foldLeft(List<T> list, U identity, Function2<U, T, U> f) {
+        U result = identity;
+
+        for (T item : list) {
+            result = f.apply(result, item);
+        }
+
+        return result;
+    }
+
     public static <T, U> U foldLeftRecursive(List<T> list, U identity, Function<U, Function<T, U>> f) {
         return foldLeftRecursive_(list, identity, f).eval();
     }
@@ -142,6 +162,66 @@ public class CollectionUtilities {
         return result;
     }
 
+    /**
+     * foldRight with an uncurried function
+     * @param list
+     * @param identity
+     * @param f (item, acc) -> acc
+     * @param <T>
+     * @param <U>
+     * @return
+     */
+    public static <T, U> U foldRight(List<T> list, U identity, Function2<T, U, U> f) {
+        U result = identity;
+
+        for (int i = list.size(); i > 0; i--) {
+            result = f.apply(list.get(i - 1), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * foldLeft starting from the first item
+     * @param list
+     * @param f
+     * @param <T>
+     * @return Empty for an empty list
+     */
+    public static <T> Result<T> reduce(List<T> list, Function2<T, T, T> f) {
+        if (list.isEmpty()) return Result.empty();
+        T result = list.get(0);
+
+        for (int i = 1; i < list.size(); i++) {
+            result = f.apply(result, list.get(i));
+        }
+
+        return Result.success(result);
+    }
+
+    /**
+     * pairwise combination, stops with the shorter list
+     * @param list1
+     * @param list2
+     * @param f
+     * @param <A>
+     * @param <B>
+     * @param <C>
+     * @return
+     */
+    public static <A, B, C> List<C> zipWith(List<A> list1, List<B> list2, Function2<A, B, C> f) {
+        int size = Math.min(list1.size(), list2.size());
+        List<C> result = new ArrayList<>(size);
+        Iterator<A> as = list1.iterator();
+        Iterator<B> bs = list2.iterator();
+
+        for (int i = 0; i < size; i++) {
+            result.add(f.apply(as.next(), bs.next()));
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
     public static <T, U> U foldRightRecursive(List<T> list, U identity, Function<T, Function<U, U>> f) {
         return foldRightRecursive_(reverse(list), identity, f).eval();
     }
@@ -163,14 +243,14 @@ public class CollectionUtilities {
     }
 
     /**
-     *
+     * amortized O(1): the result shares its array with list when list is the latest version
      * @param t
      * @param list
      * @param <T>
      * @return
      */
     public static <T> List<T> prepend(T t, List<T> list) {
-        return foldLeft(list, list(t), x -> y -> append(x, y));
+        return ImmutableList.prepend(t, list);
     }
 
     /**
@@ -229,7 +309,7 @@ public class CollectionUtilities {
      * @return
      */
     public static <T> List<T> unfold(T seed, Function<T, T> f, Function<T, Boolean> p) {
-        List<T> result = new ArrayList<>();
+        List<T> result = list();
         T temp = seed;
 
         while (p.apply(temp)) {
@@ -237,7 +317,7 @@ public class CollectionUtilities {
             temp = f.apply(temp);
         }
 
-        return Collections.unmodifiableList(result);
+        return result;
     }
 
     public static List<Integer> range(int start, int end) {
@@ -279,4 +359,26 @@ public class CollectionUtilities {
     static <T> Function<T, T> andThenAllViaFoldRight(List<Function<T, T>> list) {
         return x -> foldRightRecursive(reverse(list), x, a -> b -> a.apply(b));
     }
+
+    /**
+     * same result as composeAllViaFoldRight, the functions are applied in a loop
+     * so any number of functions is stack safe
+     * @param list
+     * @param <T>
+     * @return
+     */
+    public static <T> Function<T, T> composeAll(List<Function<T, T>> list) {
+        return Function.composeAll(list);
+    }
+
+    /**
+     * same result as andThenAllViaFoldLeft, the functions are applied in a loop
+     * so any number of functions is stack safe
+     * @param list
+     * @param <T>
+     * @return
+     */
+    public static <T> Function<T, T> andThenAll(List<Function<T, T>> list) {
+        return Function.andThenAll(list);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.practice.fp.collections;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * immutable java.util.List sharing a growable array with the lists derived from it
+ * a list is the window [from, to) of a buffer, the buffer tracks which window was handed out last:
+ * appending to the list that ends at the high-water mark claims the next slot in place,
+ * any other append (an older version, a concurrent loser) copies, so no list ever sees another change
+ * prepend works the same way at the low-water mark
+ * appends and prepends in a chain are amortized O(1), in any mix: a copy doubles the room on the side
+ * that ran out and keeps half as much on the other side, so alternating appends and prepends also share the buffer
+ * tail is an O(1) window over the same buffer
+ * @param <T>
+ */
+final class ImmutableList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final Buffer buffer;
+    private final int from;
+    private final int to;
+
+    private ImmutableList(Buffer buffer, int from, int to) {
+        this.buffer = buffer;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, to - from);
+        return (T) buffer.items[from + index];
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    /**
+     * @param list
+     * @param t
+     * @param <T>
+     * @return list followed by t
+     */
+    static <T> List<T> append(List<T> list, T t) {
+        if (list instanceof ImmutableList) {
+            ImmutableList<T> result = ((ImmutableList<T>) list).tryAppend(t);
+            if (result != null) return result;
+        }
+        int room = Math.max(list.size(), MIN_CAPACITY);
+        ImmutableList<T> copy = copyOf(list, room / 2, room);
+        return copy.tryAppend(t);
+    }
+
+    /**
+     * @param t
+     * @param list
+     * @param <T>
+     * @return t followed by list
+     */
+    static <T> List<T> prepend(T t, List<T> list) {
+        if (list instanceof ImmutableList) {
+            ImmutableList<T> result = ((ImmutableList<T>) list).tryPrepend(t);
+            if (result != null) return result;
+        }
+        int room = Math.max(list.size(), MIN_CAPACITY);
+        ImmutableList<T> copy = copyOf(list, room, room / 2);
+        return copy.tryPrepend(t);
+    }
+
+    /**
+     * O(1) for an ImmutableList, other lists are copied once so the following tails are O(1)
+     * @param list non empty list
+     * @param <T>
+     * @return list without its first element
+     */
+    static <T> List<T> tail(List<T> list) {
+        ImmutableList<T> immutable = list instanceof ImmutableList
+                ? (ImmutableList<T>) list
+                : copyOf(list, 0, 0);
+        return new ImmutableList<>(immutable.buffer, immutable.from + 1, immutable.to);
+    }
+
+    // null when the slot after this list is already taken
+    private ImmutableList<T> tryAppend(T t) {
+        if (to < buffer.items.length && buffer.high.compareAndSet(to, to + 1)) {
+            buffer.items[to] = t;
+            return new ImmutableList<>(buffer, from, to + 1);
+        }
+        return null;
+    }
+
+    // null when the slot before this list is already taken
+    private ImmutableList<T> tryPrepend(T t) {
+        if (from > 0 && buffer.low.compareAndSet(from, from - 1)) {
+            buffer.items[from - 1] = t;
+            return new ImmutableList<>(buffer, from - 1, to);
+        }
+        return null;
+    }
+
+    private static <T> ImmutableList<T> copyOf(List<T> list, int frontRoom, int backRoom) {
+        int size = list.size();
+        Object[] items = new Object[frontRoom + size + backRoom];
+        int i = frontRoom;
+        for (T t : list) {
+            items[i++] = t;
+        }
+        return new ImmutableList<>(new Buffer(items, frontRoom, frontRoom + size), frontRoom, frontRoom + size);
+    }
+
+    private static final class Buffer {
+        private final Object[] items;
+        // first slot in use by any list of this buffer
+        private final AtomicInteger low;
+        // slot after the last one in use by any list of this buffer
+        private final AtomicInteger high;
+
+        private Buffer(Object[] items, int low, int high) {
+            this.items = items;
+            this.low = new AtomicInteger(low);
+            this.high = new AtomicInteger(high);
+        }
+    }
+}
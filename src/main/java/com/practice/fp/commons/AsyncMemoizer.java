@@ -0,0 +1,201 @@
+package com.practice.fp.commons;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * memoized asynchronous function
+ * the cache stores futures, so concurrent callers of a key share one load,
+ * and an entry older than refreshAfterWrite is reloaded in the background
+ * while callers keep getting the current value (stale-while-revalidate)
+ *
+ * example:
+ * AsyncMemoizer<Integer, User> users = Memoizer.async()
+ *         .executor(executor)
+ *         .refreshAfterWrite(Duration.ofSeconds(30))
+ *         .expireAfterWrite(Duration.ofMinutes(5))
+ *         .memoize(id -> client.fetchUser(id));
+ *
+ * loads are started on the executor (common pool by default), on jdk 21+
+ * Executors.newVirtualThreadPerTaskExecutor() can be passed for blocking i/o
+ * a failed load is not cached, neither is a load rejected by the executor
+ * @param <T> input
+ * @param <U> output
+ */
+public class AsyncMemoizer<T, U> implements Function<T, CompletableFuture<U>> {
+
+    private static final long NO_LIMIT = -1;
+
+    private final Function<T, CompletableFuture<U>> function;
+    private final Executor executor;
+    private final long refreshAfterWriteNanos;
+    private final long expireAfterWriteNanos;
+    private final Map<T, Entry<U>> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger writesSinceSweep = new AtomicInteger();
+
+    private AsyncMemoizer(Builder builder, Function<T, CompletableFuture<U>> function) {
+        this.function = function;
+        this.executor = builder.executor;
+        this.refreshAfterWriteNanos = builder.refreshAfterWriteNanos;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+    }
+
+    /**
+     * @param input input
+     * @return a copy of the cached future, completing it does not affect the cache
+     */
+    @Override
+    public CompletableFuture<U> apply(T input) {
+        Entry<U> entry = cache.get(input);
+        if (entry != null && entry.isLoaded()) {
+            long now = System.nanoTime();
+            if (expireAfterWriteNanos != NO_LIMIT && now - entry.writeTime >= expireAfterWriteNanos) {
+                cache.remove(input, entry);
+                entry = null;
+            } else if (refreshAfterWriteNanos != NO_LIMIT && now - entry.writeTime >= refreshAfterWriteNanos) {
+                refresh(input, entry);
+            }
+        }
+        if (entry == null) {
+            entry = load(input);
+        }
+        return entry.future.copy();
+    }
+
+    /**
+     * @return number of cached entries, loading ones included
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    public void invalidate(T input) {
+        cache.remove(input);
+    }
+
+    private Entry<U> load(T input) {
+        Entry<U> created = new Entry<>(new CompletableFuture<>());
+        Entry<U> existing = cache.putIfAbsent(input, created);
+        if (existing != null) {
+            return existing;
+        }
+        sweepIfNeeded();
+        try {
+            executor.execute(() -> call(input).whenComplete((value, ex) -> {
+                if (ex != null) {
+                    cache.remove(input, created);
+                    created.future.completeExceptionally(ex);
+                } else {
+                    created.writeTime = System.nanoTime();
+                    created.future.complete(value);
+                }
+            }));
+        } catch (RuntimeException e) {
+            // rejected by the executor: nothing will complete the entry, so the next caller loads again
+            cache.remove(input, created);
+            created.future.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    // the current entry keeps serving until the new value replaces it
+    private void refresh(T input, Entry<U> entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> call(input).whenComplete((value, ex) -> {
+                if (ex != null) {
+                    entry.refreshing.set(false);
+                } else {
+                    Entry<U> refreshed = new Entry<>(CompletableFuture.completedFuture(value));
+                    refreshed.writeTime = System.nanoTime();
+                    cache.replace(input, entry, refreshed);
+                }
+            }));
+        } catch (RuntimeException e) {
+            // rejected by the executor: keep serving the stale value, a later access retries
+            entry.refreshing.set(false);
+        }
+    }
+
+    // exceptions and a null future become a failed future
+    private CompletableFuture<U> call(T input) {
+        try {
+            CompletableFuture<U> future = function.apply(input);
+            return future != null
+                    ? future
+                    : CompletableFuture.failedFuture(new NullPointerException("function returned a null future"));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // amortized: drops expired entries once every size() loads
+    private void sweepIfNeeded() {
+        if (expireAfterWriteNanos == NO_LIMIT || writesSinceSweep.incrementAndGet() <= cache.size()) return;
+        writesSinceSweep.set(0);
+        long now = System.nanoTime();
+        cache.entrySet().removeIf(e -> e.getValue().isLoaded()
+                && now - e.getValue().writeTime >= expireAfterWriteNanos);
+    }
+
+    private static final class Entry<U> {
+        private final CompletableFuture<U> future;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        // set before the future completes, so it is visible once isLoaded
+        private volatile long writeTime;
+
+        private Entry(CompletableFuture<U> future) {
+            this.future = future;
+        }
+
+        private boolean isLoaded() {
+            return future.isDone() && !future.isCompletedExceptionally();
+        }
+    }
+
+    /**
+     * configuration of an AsyncMemoizer
+     * without refresh or expiry the values are kept forever like Memoizer.memoize
+     */
+    public static final class Builder {
+        private Executor executor = ForkJoinPool.commonPool();
+        private long refreshAfterWriteNanos = NO_LIMIT;
+        private long expireAfterWriteNanos = NO_LIMIT;
+
+        Builder() {}
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        // reload in the background on the first access after this duration
+        public Builder refreshAfterWrite(Duration duration) {
+            this.refreshAfterWriteNanos = positiveNanos(duration);
+            return this;
+        }
+
+        // drop the value after this duration, the next caller waits for a new load
+        public Builder expireAfterWrite(Duration duration) {
+            this.expireAfterWriteNanos = positiveNanos(duration);
+            return this;
+        }
+
+        public <T, U> AsyncMemoizer<T, U> memoize(Function<T, CompletableFuture<U>> function) {
+            return new AsyncMemoizer<>(this, function);
+        }
+
+        private static long positiveNanos(Duration duration) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("duration must be greater than 0");
+            }
+            return duration.toNanos();
+        }
+    }
+}
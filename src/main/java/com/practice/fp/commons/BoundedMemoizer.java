@@ -0,0 +1,333 @@
+package com.practice.fp.commons;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * memoized function with a bounded cache
+ * entries are evicted by size, weight and time, so memoizing a function
+ * over an unbounded input domain does not keep every result forever
+ *
+ * example:
+ * Function<Integer, Integer> f = Memoizer.builder()
+ *         .maximumSize(10_000)
+ *         .expireAfterWrite(Duration.ofMinutes(5))
+ *         .policy(BoundedMemoizer.Policy.LFU)
+ *         .memoize(x -> longCalculation(x));
+ *
+ * the function is applied outside the lock, so a slow call never blocks the other keys,
+ * two threads missing the same key at the same time may both compute it
+ * @param <T> input
+ * @param <U> output
+ */
+public class BoundedMemoizer<T, U> implements Function<T, U> {
+
+    public enum Policy {
+        // evict the least recently used entry
+        LRU,
+        // evict the least recently used entry, but only admit a new entry
+        // when it is estimated to be used more often than the victim (TinyLFU admission)
+        LFU
+    }
+
+    @FunctionalInterface
+    public interface Weigher<T, U> {
+        int weigh(T input, U output);
+    }
+
+    private static final long NO_LIMIT = -1;
+
+    private final Function<T, U> function;
+    private final long maximumSize;
+    private final long maximumWeight;
+    private final Weigher<? super T, ? super U> weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final FrequencySketch sketch;
+
+    // guarded by this
+    private final LinkedHashMap<T, Entry<U>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+    private long writesSinceSweep;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private BoundedMemoizer(Builder<? super T, ? super U> builder, Function<T, U> function) {
+        this.function = function;
+        this.maximumSize = builder.maximumSize;
+        this.maximumWeight = builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.sketch = builder.policy == Policy.LFU
+                ? new FrequencySketch(maximumSize != NO_LIMIT ? maximumSize : 1024)
+                : null;
+    }
+
+    @Override
+    public U apply(T input) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (sketch != null) sketch.increment(input);
+            Entry<U> entry = cache.get(input);
+            if (entry != null) {
+                if (!isExpired(entry, now)) {
+                    entry.accessTime = now;
+                    hitCount++;
+                    return entry.value;
+                }
+                remove(input, entry);
+            }
+            missCount++;
+        }
+        U value = function.apply(input);
+        synchronized (this) {
+            put(input, value, System.nanoTime());
+        }
+        return value;
+    }
+
+    /**
+     * @return number of cached entries, expired entries not yet swept included
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return snapshot of the hit/miss/eviction counters
+     */
+    public synchronized Stats stats() {
+        return new Stats(hitCount, missCount, evictionCount);
+    }
+
+    // drop every entry, the counters are kept
+    public synchronized void clear() {
+        cache.clear();
+        totalWeight = 0;
+    }
+
+    private void put(T input, U value, long now) {
+        int weight = weigher.weigh(input, value);
+        if (maximumWeight != NO_LIMIT && weight > maximumWeight) return;
+
+        Entry<U> previous = cache.get(input);
+        if (previous == null && sketch != null && isFull(weight) && !admit(input)) return;
+
+        Entry<U> entry = new Entry<>(value, weight, now);
+        previous = cache.put(input, entry);
+        totalWeight += weight - (previous != null ? previous.weight : 0);
+
+        if (++writesSinceSweep > cache.size()) {
+            sweepExpired(now);
+        }
+        evict(input);
+    }
+
+    // candidate is admitted if it is used more often than the entry it would evict
+    private boolean admit(T input) {
+        Iterator<T> eldest = cache.keySet().iterator();
+        return !eldest.hasNext() || sketch.frequency(input) > sketch.frequency(eldest.next());
+    }
+
+    private boolean isFull(int incomingWeight) {
+        return (maximumSize != NO_LIMIT && cache.size() >= maximumSize)
+                || (maximumWeight != NO_LIMIT && totalWeight + incomingWeight > maximumWeight);
+    }
+
+    private boolean isOverLimit() {
+        return (maximumSize != NO_LIMIT && cache.size() > maximumSize)
+                || (maximumWeight != NO_LIMIT && totalWeight > maximumWeight);
+    }
+
+    private void evict(T justWritten) {
+        Iterator<Map.Entry<T, Entry<U>>> it = cache.entrySet().iterator();
+        while (isOverLimit() && it.hasNext()) {
+            Map.Entry<T, Entry<U>> eldest = it.next();
+            // the entry just written is the most recent one, keep it
+            if (eldest.getKey().equals(justWritten)) break;
+            it.remove();
+            totalWeight -= eldest.getValue().weight;
+            evictionCount++;
+        }
+    }
+
+    // amortized: runs once every cache.size() writes
+    private void sweepExpired(long now) {
+        writesSinceSweep = 0;
+        if (expireAfterWriteNanos == NO_LIMIT && expireAfterAccessNanos == NO_LIMIT) return;
+        Iterator<Entry<U>> it = cache.values().iterator();
+        while (it.hasNext()) {
+            Entry<U> entry = it.next();
+            if (isExpired(entry, now)) {
+                it.remove();
+                totalWeight -= entry.weight;
+                evictionCount++;
+            }
+        }
+    }
+
+    private void remove(T input, Entry<U> entry) {
+        cache.remove(input);
+        totalWeight -= entry.weight;
+        evictionCount++;
+    }
+
+    private boolean isExpired(Entry<U> entry, long now) {
+        return (expireAfterWriteNanos != NO_LIMIT && now - entry.writeTime >= expireAfterWriteNanos)
+                || (expireAfterAccessNanos != NO_LIMIT && now - entry.accessTime >= expireAfterAccessNanos);
+    }
+
+    private static final class Entry<U> {
+        private final U value;
+        private final int weight;
+        private final long writeTime;
+        private long accessTime;
+
+        private Entry(U value, int weight, long now) {
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    /**
+     * count-min sketch of 4 rows, counters saturate at 15
+     * all counters are halved after 10 * width increments so old popularity fades
+     */
+    private static final class FrequencySketch {
+        private static final int[] SEEDS = {0x97cb3127, 0xb4b82e9d, 0x8e4b2a6f, 0xa6b4a4ab};
+        private static final int MAX_COUNT = 15;
+
+        private final int[][] table;
+        private final int mask;
+        private final long resetAt;
+        private long additions;
+
+        private FrequencySketch(long expectedEntries) {
+            int width = Integer.highestOneBit((int) Math.min(Math.max(expectedEntries, 16), 1 << 24) - 1) << 1;
+            this.table = new int[SEEDS.length][width];
+            this.mask = width - 1;
+            this.resetAt = 10L * width;
+        }
+
+        private void increment(Object o) {
+            int hash = o.hashCode();
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = index(hash, i);
+                if (table[i][index] < MAX_COUNT) table[i][index]++;
+            }
+            if (++additions >= resetAt) reset();
+        }
+
+        private int frequency(Object o) {
+            int hash = o.hashCode();
+            int min = MAX_COUNT;
+            for (int i = 0; i < SEEDS.length; i++) {
+                min = Math.min(min, table[i][index(hash, i)]);
+            }
+            return min;
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private void reset() {
+            additions = 0;
+            for (int[] row : table) {
+                for (int i = 0; i < row.length; i++) row[i] >>>= 1;
+            }
+        }
+    }
+
+    public static final class Stats {
+        public final long hitCount;
+        public final long missCount;
+        public final long evictionCount;
+
+        private Stats(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats(hits=%d, misses=%d, evictions=%d)", hitCount, missCount, evictionCount);
+        }
+    }
+
+    /**
+     * configuration of a BoundedMemoizer
+     * without any limit the cache is unbounded like Memoizer.memoize
+     * @param <T> input
+     * @param <U> output
+     */
+    public static final class Builder<T, U> {
+        private long maximumSize = NO_LIMIT;
+        private long maximumWeight = NO_LIMIT;
+        private Weigher<? super T, ? super U> weigher = (t, u) -> 1;
+        private long expireAfterWriteNanos = NO_LIMIT;
+        private long expireAfterAccessNanos = NO_LIMIT;
+        private Policy policy = Policy.LRU;
+
+        Builder() {}
+
+        public Builder<T, U> maximumSize(long maximumSize) {
+            if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be greater than 0");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        // maximum sum of weights, used together with weigher
+        public Builder<T, U> maximumWeight(long maximumWeight) {
+            if (maximumWeight <= 0) throw new IllegalArgumentException("maximumWeight must be greater than 0");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T1 extends T, U1 extends U> Builder<T1, U1> weigher(Weigher<? super T1, ? super U1> weigher) {
+            Builder<T1, U1> self = (Builder<T1, U1>) this;
+            self.weigher = weigher;
+            return self;
+        }
+
+        public Builder<T, U> expireAfterWrite(Duration duration) {
+            this.expireAfterWriteNanos = positiveNanos(duration);
+            return this;
+        }
+
+        public Builder<T, U> expireAfterAccess(Duration duration) {
+            this.expireAfterAccessNanos = positiveNanos(duration);
+            return this;
+        }
+
+        public Builder<T, U> policy(Policy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        public <T1 extends T, U1 extends U> BoundedMemoizer<T1, U1> memoize(Function<T1, U1> function) {
+            return new BoundedMemoizer<>(this, function);
+        }
+
+        private static long positiveNanos(Duration duration) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("duration must be greater than 0");
+            }
+            return duration.toNanos();
+        }
+    }
+}
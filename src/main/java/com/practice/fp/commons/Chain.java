@@ -0,0 +1,68 @@
+package com.practice.fp.commons;
+
+/**
+ * function made of stages applied in a loop, so applying it takes the same stack for any number of stages
+ * compose and andThen on a chain return a new chain with a copy of the stages plus the added ones,
+ * instead of wrapping it in a new lambda
+ * a chain is meant to be built once (andThenAll, composeAll) and applied many times:
+ * adding stages one at a time costs O(n) per stage
+ * @param <T>
+ * @param <U>
+ */
+final class Chain<T, U> implements Function<T, U> {
+
+    // in application order, at least one, never modified
+    private final Function<?, ?>[] stages;
+
+    private Chain(Function<?, ?>[] stages) {
+        this.stages = stages;
+    }
+
+    static <T, U> Chain<T, U> of(Function<T, U> f) {
+        return f instanceof Chain
+                ? (Chain<T, U>) f
+                : new Chain<>(new Function<?, ?>[] {f});
+    }
+
+    // the stages in application order, at least one, the array is not shared afterwards
+    static <T, U> Chain<T, U> of(Function<?, ?>[] functions) {
+        return new Chain<>(functions);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public U apply(T t) {
+        Object x = t;
+        for (Function<?, ?> stage : stages) {
+            x = ((Function<Object, Object>) stage).apply(x);
+        }
+        return (U) x;
+    }
+
+    @Override
+    public <V> Function<V, U> compose(Function<V, T> f) {
+        return new Chain<>(concat(stagesOf(f), stages));
+    }
+
+    @Override
+    public <V> Function<T, V> andThen(Function<U, V> f) {
+        return new Chain<>(concat(stages, stagesOf(f)));
+    }
+
+    int size() {
+        return stages.length;
+    }
+
+    private static Function<?, ?>[] stagesOf(Function<?, ?> f) {
+        return f instanceof Chain
+                ? ((Chain<?, ?>) f).stages
+                : new Function<?, ?>[] {f};
+    }
+
+    private static Function<?, ?>[] concat(Function<?, ?>[] first, Function<?, ?>[] second) {
+        Function<?, ?>[] result = new Function<?, ?>[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package com.practice.fp.commons;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * chunk storage shared by IntList, LongList and DoubleList
+ * the elements are stored in chunks: a list is the part of a chunk from start to its end, followed by next
+ * cons fills the free slot in front of start when no other list took it yet (claimed with a CAS),
+ * else it starts a new chunk, so a list built with cons is a few arrays instead of one Cons per element
+ * the subclasses only hold the loops over the typed arrays, so nothing is boxed
+ * @param <L> the list type
+ * @param <A> the array type: int[], long[] or double[]
+ */
+abstract class ChunkedList<L extends ChunkedList<L, A>, A> {
+
+    private static final int MIN_CHUNK = 8;
+    private static final int MAX_CHUNK = 1024;
+
+    final Chunk<A> chunk;
+    final int start;
+    final L next;
+    final int length;
+
+    ChunkedList(Chunk<A> chunk, int start, L next, int length) {
+        this.chunk = chunk;
+        this.start = start;
+        this.next = next;
+        this.length = length;
+    }
+
+    // list of the same type
+    abstract L create(Chunk<A> chunk, int start, L next, int length);
+
+    public L tail() {
+        if (length == 0) throw new IllegalStateException("tail called on empty list");
+        return start + 1 < chunk.size
+                ? create(chunk, start + 1, next, length - 1)
+                : next;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (ChunkedList<L, A> l = this; l.length > 0; l = l.next) {
+            for (int i = l.start; i < l.chunk.size; i++) {
+                sb.append(Array.get(l.chunk.values, i)).append(", ");
+            }
+        }
+        return sb.append("NIL]").toString();
+    }
+
+    // true when the slot in front of start is now owned by the caller, which writes it
+    final boolean claimFront() {
+        return start > 0 && chunk.low.compareAndSet(start, start - 1);
+    }
+
+    // size of the chunk started by a cons that could not claim a slot, chunks grow with the list
+    final int newChunkSize() {
+        return Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, length));
+    }
+
+    // the elements copied in order into result, of length at least this.length
+    final A copyInto(A result) {
+        int n = 0;
+        for (ChunkedList<L, A> l = this; l.length > 0; l = l.next) {
+            int count = l.chunk.size - l.start;
+            System.arraycopy(l.chunk.values, l.start, result, n, count);
+            n += count;
+        }
+        return result;
+    }
+
+    static final class Chunk<A> {
+        final A values;
+        final int size;
+        // first slot in use by any list of this chunk
+        final AtomicInteger low;
+
+        Chunk(A values, int low) {
+            this.values = values;
+            this.size = Array.getLength(values);
+            this.low = new AtomicInteger(low);
+        }
+    }
+}
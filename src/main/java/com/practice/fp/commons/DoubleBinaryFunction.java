@@ -0,0 +1,32 @@
+package com.practice.fp.commons;
+
+/**
+ * (double, double) -> double without boxing
+ * uncurried on purpose: a fold step calls apply(acc, i) without creating a closure
+ */
+@FunctionalInterface
+public interface DoubleBinaryFunction {
+
+    double apply(double acc, double i);
+
+    /**
+     * curried form, still unboxed: each partial application allocates one closure
+     * @return x -> y -> apply(x, y)
+     */
+    default DoubleFunction<DoubleToDoubleFunction> curried() {
+        return x -> y -> apply(x, y);
+    }
+
+    /**
+     * this first, then f on the result
+     * @param f
+     * @return
+     */
+    default DoubleBinaryFunction andThen(DoubleToDoubleFunction f) {
+        return (x, y) -> f.apply(apply(x, y));
+    }
+
+    static DoubleBinaryFunction uncurried(DoubleFunction<DoubleToDoubleFunction> f) {
+        return (x, y) -> f.apply(x).apply(y);
+    }
+}
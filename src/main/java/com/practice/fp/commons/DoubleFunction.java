@@ -0,0 +1,35 @@
+package com.practice.fp.commons;
+
+/**
+ * double -> U, the argument is not boxed
+ * @param <U>
+ */
+@FunctionalInterface
+public interface DoubleFunction<U> {
+
+    U apply(double i);
+
+    /**
+     * f first, then this
+     * @param f
+     * @return
+     */
+    default DoubleFunction<U> compose(DoubleToDoubleFunction f) {
+        return x -> apply(f.apply(x));
+    }
+
+    /**
+     * this first, then f
+     * @param f
+     * @param <V>
+     * @return
+     */
+    default <V> DoubleFunction<V> andThen(Function<U, V> f) {
+        return x -> f.apply(apply(x));
+    }
+
+    // boxes the argument on each call
+    default Function<Double, U> boxed() {
+        return this::apply;
+    }
+}
@@ -0,0 +1,154 @@
+package com.practice.fp.commons;
+
+import java.util.Arrays;
+
+/**
+ * immutable persistent list of unboxed doubles, stored in chunks (see ChunkedList)
+ * map and filter produce a single chunk
+ * folds loop over the arrays: no boxing and no closure per element
+ */
+public final class DoubleList extends ChunkedList<DoubleList, double[]> {
+
+    private static final DoubleList EMPTY = new DoubleList(null, 0, null, 0);
+
+    private DoubleList(Chunk<double[]> chunk, int start, DoubleList next, int length) {
+        super(chunk, start, next, length);
+    }
+
+    @Override
+    DoubleList create(Chunk<double[]> chunk, int start, DoubleList next, int length) {
+        return new DoubleList(chunk, start, next, length);
+    }
+
+    public static DoubleList empty() {
+        return EMPTY;
+    }
+
+    public static DoubleList list(double... values) {
+        return of(values.clone());
+    }
+
+    /**
+     * @param list commons.List, unboxed once
+     * @return list of the same elements
+     */
+    public static DoubleList fromList(List<Double> list) {
+        double[] values = new double[list.length()];
+        int i = 0;
+        for (List<Double> l = list; !l.isEmpty(); l = l.tail()) {
+            values[i++] = l.head();
+        }
+        return of(values);
+    }
+
+    public double head() {
+        if (length == 0) throw new IllegalStateException("head called on empty list");
+        return chunk.values[start];
+    }
+
+    public DoubleList cons(double i) {
+        if (claimFront()) {
+            chunk.values[start - 1] = i;
+            return new DoubleList(chunk, start - 1, next, length + 1);
+        }
+        double[] values = new double[newChunkSize()];
+        values[values.length - 1] = i;
+        return new DoubleList(new Chunk<>(values, values.length - 1), values.length - 1, this, length + 1);
+    }
+
+    public double foldLeft(double identity, DoubleBinaryFunction f) {
+        double acc = identity;
+        for (DoubleList l = this; l.length > 0; l = l.next) {
+            double[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                acc = f.apply(acc, values[i]);
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * generic fold, each element is boxed when passed to f
+     * @param identity
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public <B> B foldLeft(B identity, Function<B, Function<Double, B>> f) {
+        B acc = identity;
+        for (DoubleList l = this; l.length > 0; l = l.next) {
+            double[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                acc = f.apply(acc).apply(values[i]);
+            }
+        }
+        return acc;
+    }
+
+    public double sum() {
+        double sum = 0;
+        for (DoubleList l = this; l.length > 0; l = l.next) {
+            double[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    public double product() {
+        double product = 1;
+        for (DoubleList l = this; l.length > 0; l = l.next) {
+            double[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                product *= values[i];
+            }
+        }
+        return product;
+    }
+
+    public DoubleList map(DoubleToDoubleFunction f) {
+        double[] result = new double[length];
+        int n = 0;
+        for (DoubleList l = this; l.length > 0; l = l.next) {
+            double[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                result[n++] = f.apply(values[i]);
+            }
+        }
+        return of(result);
+    }
+
+    public DoubleList filter(DoubleToBooleanFunction p) {
+        double[] result = new double[length];
+        int n = 0;
+        for (DoubleList l = this; l.length > 0; l = l.next) {
+            double[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                if (p.apply(values[i])) result[n++] = values[i];
+            }
+        }
+        return of(n < result.length ? Arrays.copyOf(result, n) : result);
+    }
+
+    public double[] toArray() {
+        return copyInto(new double[length]);
+    }
+
+    /**
+     * @return commons.List of the boxed elements, in order
+     */
+    public List<Double> toList() {
+        double[] values = toArray();
+        List<Double> result = List.list();
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = result.cons(values[i]);
+        }
+        return result;
+    }
+
+    // one chunk holding all the values, the array is not shared afterwards
+    private static DoubleList of(double[] values) {
+        return values.length == 0 ? EMPTY : new DoubleList(new Chunk<>(values, 0), 0, EMPTY, values.length);
+    }
+}
@@ -0,0 +1,10 @@
+package com.practice.fp.commons;
+
+/**
+ * double -> boolean without boxing, used as a predicate
+ */
+@FunctionalInterface
+public interface DoubleToBooleanFunction {
+
+    boolean apply(double i);
+}
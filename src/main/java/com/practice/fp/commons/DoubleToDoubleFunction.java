@@ -0,0 +1,83 @@
+package com.practice.fp.commons;
+
+/**
+ * double -> double without boxing
+ * compositions of DoubleToDoubleFunction stay unboxed at every stage,
+ * boxed() and unboxed() are the bridges with Function<Double, Double>
+ */
+@FunctionalInterface
+public interface DoubleToDoubleFunction {
+
+    double apply(double i);
+
+    /**
+     * f first, then this
+     * @param f
+     * @return
+     */
+    default DoubleToDoubleFunction compose(DoubleToDoubleFunction f) {
+        return x -> apply(f.apply(x));
+    }
+
+    /**
+     * this first, then f
+     * @param f
+     * @return
+     */
+    default DoubleToDoubleFunction andThen(DoubleToDoubleFunction f) {
+        return x -> f.apply(apply(x));
+    }
+
+    /**
+     * this first, then f on the result, boxed once at the end
+     * @param f
+     * @param <U>
+     * @return
+     */
+    default <U> DoubleFunction<U> andThenToObj(DoubleFunction<U> f) {
+        return x -> f.apply(apply(x));
+    }
+
+    // boxes the argument and the result on each call
+    default Function<Double, Double> boxed() {
+        return this::apply;
+    }
+
+    static DoubleToDoubleFunction identity() {
+        return x -> x;
+    }
+
+    // unboxes the argument and the result on each call
+    static DoubleToDoubleFunction unboxed(Function<Double, Double> f) {
+        return f::apply;
+    }
+
+    /**
+     * g first, then f
+     * @param f
+     * @param g
+     * @return
+     */
+    static DoubleToDoubleFunction compose(DoubleToDoubleFunction f, DoubleToDoubleFunction g) {
+        return x -> f.apply(g.apply(x));
+    }
+
+    /**
+     * f first, then g
+     * @param f
+     * @param g
+     * @return
+     */
+    static DoubleToDoubleFunction andThen(DoubleToDoubleFunction f, DoubleToDoubleFunction g) {
+        return x -> g.apply(f.apply(x));
+    }
+
+    /**
+     * compose with curry style, the composed function is unboxed
+     * f -> g -> f first, then g
+     * @return
+     */
+    static Function<DoubleToDoubleFunction, Function<DoubleToDoubleFunction, DoubleToDoubleFunction>> compose() {
+        return x -> y -> y.compose(x);
+    }
+}
@@ -1,5 +1,7 @@
 package com.practice.fp.commons;
 
+import java.util.Objects;
+
 public abstract class Either<E, A> {
 
     public abstract <B> Either<E, B> map(Function<A, B> f);
@@ -67,6 +69,31 @@ public abstract class Either<E, A> {
         }
     }
 
+    /**
+     * single forward loop, the first Left is returned as is and the rest of the list is not visited
+     * the values are collected in a List.Builder and linked once, stack safe on any length
+     * @param list
+     * @param f
+     * @param <E>
+     * @param <A>
+     * @param <B>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <E, A, B> Either<E, List<B>> traverse(List<A> list, Function<A, Either<E, B>> f) {
+        List.Builder<B> builder = List.Builder.atMost(list.length());
+        for (List<A> l = list; !l.isEmpty(); l = l.tail()) {
+            Either<E, B> b = Objects.requireNonNull(f.apply(l.head()), "traverse function returned null");
+            if (b instanceof Left) return (Either<E, List<B>>) (Either<E, ?>) b;
+            builder.add(((Right<E, B>) b).value);
+        }
+        return right(builder.build());
+    }
+
+    public static <E, A> Either<E, List<A>> sequence(List<Either<E, A>> list) {
+        return traverse(list, x -> x);
+    }
+
     public static <T, U> Either<T, U> left(T value) {
         return new Left<>(value);
     }
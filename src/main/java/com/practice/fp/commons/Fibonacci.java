@@ -0,0 +1,115 @@
+package com.practice.fp.commons;
+
+import java.math.BigInteger;
+
+/**
+ * fibonacci and lucas numbers in O(log n) multiplications (fast doubling)
+ * fast doubling is the matrix power [[1, 1], [1, 0]]^n with the redundant half of the matrix dropped:
+ * F(2k) = F(k) * (2 * F(k + 1) - F(k))
+ * F(2k + 1) = F(k)^2 + F(k + 1)^2
+ * the squares are computed as x.multiply(x), which BigInteger turns into a dedicated squaring,
+ * and large operands use BigInteger's Karatsuba and Toom-Cook multiplication
+ * values up to F(92) fit in a long and are computed without BigInteger
+ */
+public final class Fibonacci {
+
+    // largest n such that F(n) fits in a long
+    private static final int MAX_LONG_INDEX = 92;
+
+    private static final BigInteger TWO = BigInteger.valueOf(2);
+
+    private Fibonacci() {}
+
+    /**
+     * @param n index, from 0
+     * @return F(n): 0, 1, 1, 2, 3, 5, ...
+     */
+    public static BigInteger fibonacci(int n) {
+        checkIndex(n);
+        return n <= MAX_LONG_INDEX
+                ? BigInteger.valueOf(fibonacciLong(n))
+                : pair(n)._1;
+    }
+
+    /**
+     * @param n index, from 0 to 92
+     * @return F(n) as a long
+     */
+    public static long fibonacciLong(int n) {
+        if (n < 0 || n > MAX_LONG_INDEX) {
+            throw new IllegalArgumentException(String.format("index %s out of 0..%s", n, MAX_LONG_INDEX));
+        }
+        long a = 0;
+        long b = 1;
+        for (int bit = Integer.highestOneBit(n); bit != 0; bit >>>= 1) {
+            long c = a * (2 * b - a);
+            long d = a * a + b * b;
+            if ((n & bit) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c + d;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * L(n) = 2 * F(n + 1) - F(n)
+     * @param n index, from 0
+     * @return L(n): 2, 1, 3, 4, 7, 11, ...
+     */
+    public static BigInteger lucas(int n) {
+        checkIndex(n);
+        Tuple<BigInteger, BigInteger> p = pair(n);
+        return p._2.shiftLeft(1).subtract(p._1);
+    }
+
+    /**
+     * fibonacci with an LRU cache of the computed values
+     * worth it when the same large indexes are requested repeatedly
+     * @param maximumSize number of values kept
+     * @return memoized F
+     */
+    public static Function<Integer, BigInteger> cachedFibonacci(long maximumSize) {
+        return Memoizer.builder()
+                .maximumSize(maximumSize)
+                .policy(BoundedMemoizer.Policy.LRU)
+                .memoize(Fibonacci::fibonacci);
+    }
+
+    /**
+     * lucas with an LRU cache of the computed values
+     * @param maximumSize number of values kept
+     * @return memoized L
+     */
+    public static Function<Integer, BigInteger> cachedLucas(long maximumSize) {
+        return Memoizer.builder()
+                .maximumSize(maximumSize)
+                .policy(BoundedMemoizer.Policy.LRU)
+                .memoize(Fibonacci::lucas);
+    }
+
+    // (F(n), F(n + 1)), walking the bits of n from the highest one
+    private static Tuple<BigInteger, BigInteger> pair(int n) {
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int bit = Integer.highestOneBit(n); bit != 0; bit >>>= 1) {
+            BigInteger c = a.multiply(b.multiply(TWO).subtract(a));
+            BigInteger d = a.multiply(a).add(b.multiply(b));
+            if ((n & bit) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
+        }
+        return new Tuple<>(a, b);
+    }
+
+    private static void checkIndex(int n) {
+        if (n < 0) throw new IllegalArgumentException(String.format("negative index %s", n));
+    }
+}
@@ -119,6 +119,73 @@ public interface Function<T, U> {
         return x -> y -> z -> x.apply(y.apply(z));
     }
 
+    /**
+     * f as a flat chain: compose and andThen on the result copy the stages into a new array
+     * instead of nesting lambdas, and apply runs the stages in a loop
+     * to build a long chain, prefer andThenAll or composeAll which copy once
+     * f.andThen(g).andThen(h) nests 3 lambdas, chain(f).andThen(g).andThen(h) is one chain of 3 stages
+     * @param f
+     * @param <T>
+     * @param <U>
+     * @return
+     */
+    static <T, U> Function<T, U> chain(Function<T, U> f) {
+        return Chain.of(f);
+    }
+
+    /**
+     * f1, f2, ..., fn -> x -> fn(...f2(f1(x)))
+     * stack safe for any number of functions
+     * @param functions commons.List, java.util.List or any Iterable
+     * @param <T>
+     * @return
+     */
+    static <T> Function<T, T> andThenAll(Iterable<? extends Function<T, T>> functions) {
+        java.util.List<Function<?, ?>> stages = new java.util.ArrayList<>();
+        functions.forEach(stages::add);
+        return stages.isEmpty() ? identity() : Chain.of(stages.toArray(new Function<?, ?>[0]));
+    }
+
+    /**
+     * f1, f2, ..., fn -> x -> f1(f2(...fn(x)))
+     * stack safe for any number of functions
+     * @param functions commons.List, java.util.List or any Iterable
+     * @param <T>
+     * @return
+     */
+    static <T> Function<T, T> composeAll(Iterable<? extends Function<T, T>> functions) {
+        java.util.List<Function<?, ?>> stages = new java.util.ArrayList<>();
+        functions.forEach(stages::add);
+        java.util.Collections.reverse(stages);
+        return stages.isEmpty() ? identity() : Chain.of(stages.toArray(new Function<?, ?>[0]));
+    }
+
+    /**
+     * fixed point of a trampolined function: defines a recursive function once, evaluated in constant stack
+     * f receives the function itself (self), whose calls are suspended, and returns the body, e.g.
+     * Function<Integer, BigInteger> factorial = Function.recursive(self -> n -> n <= 1
+     *         ? TailCall.ret(BigInteger.ONE)
+     *         : self.apply(n - 1).map(x -> x.multiply(BigInteger.valueOf(n))));
+     * tail calls return self.apply(...) directly, other calls go through map/flatMap,
+     * both run on the TailCall heap stack
+     * @param f self -> body
+     * @param <T>
+     * @param <U>
+     * @return
+     */
+    static <T, U> Function<T, U> recursive(Function<Function<T, TailCall<U>>, Function<T, TailCall<U>>> f) {
+        return new Function<T, U>() {
+            // calls through self are suspended, so the body never recurses on the call stack
+            private final Function<T, TailCall<U>> self = t -> TailCall.sus(() -> this.body.apply(t));
+            private final Function<T, TailCall<U>> body = f.apply(self);
+
+            @Override
+            public U apply(T t) {
+                return body.apply(t).eval();
+            }
+        };
+    }
+
     /**
      * function to swap the T and U param
      * @param f
@@ -0,0 +1,48 @@
+package com.practice.fp.commons;
+
+/**
+ * uncurried function of 2 arguments
+ * Function<A, Function<B, C>> allocates a closure on every f.apply(a),
+ * a fold step through Function2 is a single call
+ * @param <A>
+ * @param <B>
+ * @param <C>
+ */
+@FunctionalInterface
+public interface Function2<A, B, C> {
+
+    C apply(A a, B b);
+
+    /**
+     * @return a -> b -> apply(a, b)
+     */
+    default Function<A, Function<B, C>> curried() {
+        return a -> b -> apply(a, b);
+    }
+
+    /**
+     * this first, then f on the result
+     * @param f
+     * @param <D>
+     * @return
+     */
+    default <D> Function2<A, B, D> andThen(Function<C, D> f) {
+        return (a, b) -> f.apply(apply(a, b));
+    }
+
+    /**
+     * adapter from the curried form, the closure of f.apply(a) is still created on each call
+     * @param f
+     * @param <A>
+     * @param <B>
+     * @param <C>
+     * @return
+     */
+    static <A, B, C> Function2<A, B, C> uncurried(Function<A, Function<B, C>> f) {
+        return (a, b) -> f.apply(a).apply(b);
+    }
+
+    static <A, B, C> Function2<B, A, C> reverseArgs(Function2<A, B, C> f) {
+        return (b, a) -> f.apply(a, b);
+    }
+}
@@ -0,0 +1,34 @@
+package com.practice.fp.commons;
+
+/**
+ * uncurried function of 3 arguments, a single call instead of a closure per argument
+ * @param <A>
+ * @param <B>
+ * @param <C>
+ * @param <D>
+ */
+@FunctionalInterface
+public interface Function3<A, B, C, D> {
+
+    D apply(A a, B b, C c);
+
+    /**
+     * @return a -> b -> c -> apply(a, b, c)
+     */
+    default Function<A, Function<B, Function<C, D>>> curried() {
+        return a -> b -> c -> apply(a, b, c);
+    }
+
+    /**
+     * adapter from the curried form, the closures are still created on each call
+     * @param f
+     * @param <A>
+     * @param <B>
+     * @param <C>
+     * @param <D>
+     * @return
+     */
+    static <A, B, C, D> Function3<A, B, C, D> uncurried(Function<A, Function<B, Function<C, D>>> f) {
+        return (a, b, c) -> f.apply(a).apply(b).apply(c);
+    }
+}
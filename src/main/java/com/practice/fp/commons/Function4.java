@@ -0,0 +1,36 @@
+package com.practice.fp.commons;
+
+/**
+ * uncurried function of 4 arguments, a single call instead of a closure per argument
+ * @param <A>
+ * @param <B>
+ * @param <C>
+ * @param <D>
+ * @param <E>
+ */
+@FunctionalInterface
+public interface Function4<A, B, C, D, E> {
+
+    E apply(A a, B b, C c, D d);
+
+    /**
+     * @return a -> b -> c -> d -> apply(a, b, c, d)
+     */
+    default Function<A, Function<B, Function<C, Function<D, E>>>> curried() {
+        return a -> b -> c -> d -> apply(a, b, c, d);
+    }
+
+    /**
+     * adapter from the curried form, the closures are still created on each call
+     * @param f
+     * @param <A>
+     * @param <B>
+     * @param <C>
+     * @param <D>
+     * @param <E>
+     * @return
+     */
+    static <A, B, C, D, E> Function4<A, B, C, D, E> uncurried(Function<A, Function<B, Function<C, Function<D, E>>>> f) {
+        return (a, b, c, d) -> f.apply(a).apply(b).apply(c).apply(d);
+    }
+}
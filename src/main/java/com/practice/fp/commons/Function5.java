@@ -0,0 +1,39 @@
+package com.practice.fp.commons;
+
+/**
+ * uncurried function of 5 arguments, a single call instead of a closure per argument
+ * @param <A>
+ * @param <B>
+ * @param <C>
+ * @param <D>
+ * @param <E>
+ * @param <F>
+ */
+@FunctionalInterface
+public interface Function5<A, B, C, D, E, F> {
+
+    F apply(A a, B b, C c, D d, E e);
+
+    /**
+     * @return a -> b -> c -> d -> e -> apply(a, b, c, d, e)
+     */
+    default Function<A, Function<B, Function<C, Function<D, Function<E, F>>>>> curried() {
+        return a -> b -> c -> d -> e -> apply(a, b, c, d, e);
+    }
+
+    /**
+     * adapter from the curried form, the closures are still created on each call
+     * @param f
+     * @param <A>
+     * @param <B>
+     * @param <C>
+     * @param <D>
+     * @param <E>
+     * @param <F>
+     * @return
+     */
+    static <A, B, C, D, E, F> Function5<A, B, C, D, E, F> uncurried(
+            Function<A, Function<B, Function<C, Function<D, Function<E, F>>>>> f) {
+        return (a, b, c, d, e) -> f.apply(a).apply(b).apply(c).apply(d).apply(e);
+    }
+}
@@ -0,0 +1,32 @@
+package com.practice.fp.commons;
+
+/**
+ * (int, int) -> int without boxing
+ * uncurried on purpose: a fold step calls apply(acc, i) without creating a closure
+ */
+@FunctionalInterface
+public interface IntBinaryFunction {
+
+    int apply(int acc, int i);
+
+    /**
+     * curried form, still unboxed: each partial application allocates one closure
+     * @return x -> y -> apply(x, y)
+     */
+    default IntFunction<IntToIntFunction> curried() {
+        return x -> y -> apply(x, y);
+    }
+
+    /**
+     * this first, then f on the result
+     * @param f
+     * @return
+     */
+    default IntBinaryFunction andThen(IntToIntFunction f) {
+        return (x, y) -> f.apply(apply(x, y));
+    }
+
+    static IntBinaryFunction uncurried(IntFunction<IntToIntFunction> f) {
+        return (x, y) -> f.apply(x).apply(y);
+    }
+}
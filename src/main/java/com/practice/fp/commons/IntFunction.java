@@ -0,0 +1,35 @@
+package com.practice.fp.commons;
+
+/**
+ * int -> U, the argument is not boxed
+ * @param <U>
+ */
+@FunctionalInterface
+public interface IntFunction<U> {
+
+    U apply(int i);
+
+    /**
+     * f first, then this
+     * @param f
+     * @return
+     */
+    default IntFunction<U> compose(IntToIntFunction f) {
+        return x -> apply(f.apply(x));
+    }
+
+    /**
+     * this first, then f
+     * @param f
+     * @param <V>
+     * @return
+     */
+    default <V> IntFunction<V> andThen(Function<U, V> f) {
+        return x -> f.apply(apply(x));
+    }
+
+    // boxes the argument on each call
+    default Function<Integer, U> boxed() {
+        return this::apply;
+    }
+}
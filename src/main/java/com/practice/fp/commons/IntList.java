@@ -0,0 +1,158 @@
+package com.practice.fp.commons;
+
+import java.util.Arrays;
+
+/**
+ * immutable persistent list of unboxed ints, stored in chunks (see ChunkedList)
+ * map, filter and range produce a single chunk
+ * folds loop over the arrays: no boxing and no closure per element
+ */
+public final class IntList extends ChunkedList<IntList, int[]> {
+
+    private static final IntList EMPTY = new IntList(null, 0, null, 0);
+
+    private IntList(Chunk<int[]> chunk, int start, IntList next, int length) {
+        super(chunk, start, next, length);
+    }
+
+    @Override
+    IntList create(Chunk<int[]> chunk, int start, IntList next, int length) {
+        return new IntList(chunk, start, next, length);
+    }
+
+    public static IntList empty() {
+        return EMPTY;
+    }
+
+    public static IntList list(int... values) {
+        return of(values.clone());
+    }
+
+    /**
+     * @param start included
+     * @param end excluded
+     * @return start, start + 1, ..., end - 1
+     * @throws ArithmeticException when there are more than Integer.MAX_VALUE elements
+     */
+    public static IntList range(int start, int end) {
+        if (end <= start) return EMPTY;
+        int[] values = new int[Math.toIntExact((long) end - start)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i;
+        }
+        return of(values);
+    }
+
+    /**
+     * @param list commons.List, unboxed once
+     * @return list of the same elements
+     */
+    public static IntList fromList(List<Integer> list) {
+        int[] values = new int[list.length()];
+        int i = 0;
+        for (List<Integer> l = list; !l.isEmpty(); l = l.tail()) {
+            values[i++] = l.head();
+        }
+        return of(values);
+    }
+
+    public int head() {
+        if (length == 0) throw new IllegalStateException("head called on empty list");
+        return chunk.values[start];
+    }
+
+    public IntList cons(int i) {
+        if (claimFront()) {
+            chunk.values[start - 1] = i;
+            return new IntList(chunk, start - 1, next, length + 1);
+        }
+        int[] values = new int[newChunkSize()];
+        values[values.length - 1] = i;
+        return new IntList(new Chunk<>(values, values.length - 1), values.length - 1, this, length + 1);
+    }
+
+    public int foldLeft(int identity, IntBinaryFunction f) {
+        int acc = identity;
+        for (IntList l = this; l.length > 0; l = l.next) {
+            int[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                acc = f.apply(acc, values[i]);
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * generic fold, each element is boxed when passed to f
+     * @param identity
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public <B> B foldLeft(B identity, Function<B, Function<Integer, B>> f) {
+        B acc = identity;
+        for (IntList l = this; l.length > 0; l = l.next) {
+            int[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                acc = f.apply(acc).apply(values[i]);
+            }
+        }
+        return acc;
+    }
+
+    public int sum() {
+        int sum = 0;
+        for (IntList l = this; l.length > 0; l = l.next) {
+            int[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    public IntList map(IntToIntFunction f) {
+        int[] result = new int[length];
+        int n = 0;
+        for (IntList l = this; l.length > 0; l = l.next) {
+            int[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                result[n++] = f.apply(values[i]);
+            }
+        }
+        return of(result);
+    }
+
+    public IntList filter(IntToBooleanFunction p) {
+        int[] result = new int[length];
+        int n = 0;
+        for (IntList l = this; l.length > 0; l = l.next) {
+            int[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                if (p.apply(values[i])) result[n++] = values[i];
+            }
+        }
+        return of(n < result.length ? Arrays.copyOf(result, n) : result);
+    }
+
+    public int[] toArray() {
+        return copyInto(new int[length]);
+    }
+
+    /**
+     * @return commons.List of the boxed elements, in order
+     */
+    public List<Integer> toList() {
+        int[] values = toArray();
+        List<Integer> result = List.list();
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = result.cons(values[i]);
+        }
+        return result;
+    }
+
+    // one chunk holding all the values, the array is not shared afterwards
+    private static IntList of(int[] values) {
+        return values.length == 0 ? EMPTY : new IntList(new Chunk<>(values, 0), 0, EMPTY, values.length);
+    }
+}
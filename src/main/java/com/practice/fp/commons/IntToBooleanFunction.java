@@ -0,0 +1,10 @@
+package com.practice.fp.commons;
+
+/**
+ * int -> boolean without boxing, used as a predicate
+ */
+@FunctionalInterface
+public interface IntToBooleanFunction {
+
+    boolean apply(int i);
+}
@@ -0,0 +1,83 @@
+package com.practice.fp.commons;
+
+/**
+ * int -> int without boxing
+ * compositions of IntToIntFunction stay unboxed at every stage,
+ * boxed() and unboxed() are the bridges with Function<Integer, Integer>
+ */
+@FunctionalInterface
+public interface IntToIntFunction {
+
+    int apply(int i);
+
+    /**
+     * f first, then this
+     * @param f
+     * @return
+     */
+    default IntToIntFunction compose(IntToIntFunction f) {
+        return x -> apply(f.apply(x));
+    }
+
+    /**
+     * this first, then f
+     * @param f
+     * @return
+     */
+    default IntToIntFunction andThen(IntToIntFunction f) {
+        return x -> f.apply(apply(x));
+    }
+
+    /**
+     * this first, then f on the result, boxed once at the end
+     * @param f
+     * @param <U>
+     * @return
+     */
+    default <U> IntFunction<U> andThenToObj(IntFunction<U> f) {
+        return x -> f.apply(apply(x));
+    }
+
+    // boxes the argument and the result on each call
+    default Function<Integer, Integer> boxed() {
+        return this::apply;
+    }
+
+    static IntToIntFunction identity() {
+        return x -> x;
+    }
+
+    // unboxes the argument and the result on each call
+    static IntToIntFunction unboxed(Function<Integer, Integer> f) {
+        return f::apply;
+    }
+
+    /**
+     * g first, then f
+     * @param f
+     * @param g
+     * @return
+     */
+    static IntToIntFunction compose(IntToIntFunction f, IntToIntFunction g) {
+        return x -> f.apply(g.apply(x));
+    }
+
+    /**
+     * f first, then g
+     * @param f
+     * @param g
+     * @return
+     */
+    static IntToIntFunction andThen(IntToIntFunction f, IntToIntFunction g) {
+        return x -> g.apply(f.apply(x));
+    }
+
+    /**
+     * compose with curry style, the composed function is unboxed
+     * f -> g -> f first, then g
+     * @return
+     */
+    static Function<IntToIntFunction, Function<IntToIntFunction, IntToIntFunction>> compose() {
+        return x -> y -> y.compose(x);
+    }
+}
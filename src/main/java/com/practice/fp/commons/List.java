@@ -1,9 +1,27 @@
 package com.practice.fp.commons;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.StreamSupport;
+
+import static com.practice.fp.commons.TailCall.loop;
 import static com.practice.fp.commons.TailCall.ret;
 import static com.practice.fp.commons.TailCall.sus;
 
-public abstract class List<A> {
+public abstract class List<A> implements Iterable<A> {
+
+    // below this length parallel operations run sequentially
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
 
     private List() {}
 
@@ -40,32 +58,80 @@ public abstract class List<A> {
 
     /**
      * transform a list to a list of different values
+     * single forward pass, the result is linked once by the builder
      * @param f
      * @param <B>
      * @return
      */
     public <B> List<B> map(Function<A, B> f) {
-        return foldRight(list(), h -> t -> new Cons<>(f.apply(h),t));
+        Builder<B> builder = new Builder<>(length());
+        for (List<A> list = this; !list.isEmpty(); list = list.tail()) {
+            builder.add(f.apply(list.head()));
+        }
+        return builder.build();
     }
 
     /**
      * removes from a list the elements that don’t satisfy a given predicate
+     * single forward pass, the result is linked once by the builder
      * @param f
      * @return
      */
     public List<A> filter(Function<A, Boolean> f) {
-        return foldRight(list(), h -> t -> f.apply(h) ? new Cons<>(h,t) : t);
+        Builder<A> builder = new Builder<>(length());
+        for (List<A> list = this; !list.isEmpty(); list = list.tail()) {
+            A a = list.head();
+            if (f.apply(a)) builder.add(a);
+        }
+        return builder.build();
+    }
+
+    /**
+     * map(f).filter(p) fused: one pass and no intermediate list
+     * @param f
+     * @param p applied to the mapped values
+     * @param <B>
+     * @return
+     */
+    public <B> List<B> mapFilter(Function<A, B> f, Function<B, Boolean> p) {
+        Builder<B> builder = new Builder<>(length());
+        for (List<A> list = this; !list.isEmpty(); list = list.tail()) {
+            B b = f.apply(list.head());
+            if (p.apply(b)) builder.add(b);
+        }
+        return builder.build();
+    }
+
+    /**
+     * filter(p).map(f) fused: one pass and no intermediate list
+     * @param p
+     * @param f applied to the elements satisfying p
+     * @param <B>
+     * @return
+     */
+    public <B> List<B> filterMap(Function<A, Boolean> p, Function<A, B> f) {
+        Builder<B> builder = new Builder<>(length());
+        for (List<A> list = this; !list.isEmpty(); list = list.tail()) {
+            A a = list.head();
+            if (p.apply(a)) builder.add(f.apply(a));
+        }
+        return builder.build();
     }
 
     /**
      * method that applies to each element of List<A> a function from A to List<B>, and returns a List<B>
      * example: List.list(1,2,3).flatMap(i -> List.list(i, -i)) -> list(1,-1,2,-2,3,-3)
+     * single forward pass, the result is linked once by the builder
      * @param f
      * @param <B>
      * @return
      */
     public <B> List<B> flatMap(Function<A, List<B>> f) {
-        return foldRight(list(), h -> t -> concat(f.apply(h), t));
+        Builder<B> builder = new Builder<>(length());
+        for (List<A> list = this; !list.isEmpty(); list = list.tail()) {
+            builder.addAll(f.apply(list.head()));
+        }
+        return builder.build();
     }
 
     /**
@@ -75,6 +141,252 @@ public abstract class List<A> {
         return foldLeft(Result.empty(), x -> y -> Result.success(y));
     }
 
+    /**
+     * foldLeft with an uncurried function: one call per element and no closure
+     * @param identity
+     * @param f (acc, element) -> acc
+     * @param <B>
+     * @return
+     */
+    public <B> B foldLeft(B identity, Function2<B, A, B> f) {
+        B acc = identity;
+        for (List<A> list = this; !list.isEmpty(); list = list.tail()) {
+            acc = f.apply(acc, list.head());
+        }
+        return acc;
+    }
+
+    /**
+     * foldRight with an uncurried function, from the last element in a loop
+     * @param identity
+     * @param f (element, acc) -> acc
+     * @param <B>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <B> B foldRight(B identity, Function2<A, B, B> f) {
+        Object[] items = toArray();
+        B acc = identity;
+        for (int i = items.length - 1; i >= 0; i--) {
+            acc = f.apply((A) items[i], acc);
+        }
+        return acc;
+    }
+
+    /**
+     * foldLeft starting from the first element
+     * @param f
+     * @return Empty for an empty list
+     */
+    public Result<A> reduce(Function2<A, A, A> f) {
+        return isEmpty()
+                ? Result.empty()
+                : Result.success(tail().foldLeft(head(), f));
+    }
+
+    /**
+     * pairwise combination, stops with the shorter list
+     * @param other
+     * @param f
+     * @param <B>
+     * @param <C>
+     * @return
+     */
+    public <B, C> List<C> zipWith(List<B> other, Function2<A, B, C> f) {
+        Builder<C> builder = new Builder<>(Math.min(length(), other.length()));
+        List<A> as = this;
+        List<B> bs = other;
+        while (!as.isEmpty() && !bs.isEmpty()) {
+            builder.add(f.apply(as.head(), bs.head()));
+            as = as.tail();
+            bs = bs.tail();
+        }
+        return builder.build();
+    }
+
+    /**
+     * parallel foldLeft on the common ForkJoinPool
+     * @param identity neutral element of both f and m
+     * @param f fold of one chunk
+     * @param m associative combiner of two chunk results
+     * @param <B>
+     * @return
+     */
+    public <B> Result<B> parFoldLeft(B identity, Function<B, Function<A, B>> f, Function<B, Function<B, B>> m) {
+        return parFoldLeft(ForkJoinPool.commonPool(), identity, f, m);
+    }
+
+    /**
+     * split the list into chunks, fold each chunk on the executor with f,
+     * then combine the chunk results from left to right with m
+     * short lists are folded sequentially
+     * @param es executor
+     * @param identity neutral element of both f and m
+     * @param f fold of one chunk
+     * @param m associative combiner of two chunk results
+     * @param <B>
+     * @return Success of the result, Failure if a chunk failed or the thread was interrupted
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Result<B> parFoldLeft(ExecutorService es,
+                                     B identity,
+                                     Function<B, Function<A, B>> f,
+                                     Function<B, Function<B, B>> m) {
+        int length = length();
+        int chunkSize = chunkSize(length);
+        if (length <= chunkSize) {
+            try {
+                return Result.success(foldLeft(identity, f));
+            } catch (Exception e) {
+                return Result.failure(e);
+            }
+        }
+        Object[] items = toArray();
+        java.util.List<Future<B>> futures = new ArrayList<>();
+        for (int from = 0; from < length; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, length);
+            futures.add(es.submit(() -> {
+                B acc = identity;
+                for (int i = start; i < end; i++) {
+                    acc = f.apply(acc).apply((A) items[i]);
+                }
+                return acc;
+            }));
+        }
+        return collect(futures).map(results -> {
+            B acc = identity;
+            for (B result : results) {
+                acc = m.apply(acc).apply(result);
+            }
+            return acc;
+        });
+    }
+
+    /**
+     * parallel map on the common ForkJoinPool
+     * @param g
+     * @param <B>
+     * @return
+     */
+    public <B> Result<List<B>> parMap(Function<A, B> g) {
+        return parMap(ForkJoinPool.commonPool(), g);
+    }
+
+    /**
+     * map chunks of the list on the executor, each chunk writes its own range of the result
+     * short lists are mapped sequentially
+     * @param es executor
+     * @param g
+     * @param <B>
+     * @return Success of the mapped list, Failure if a chunk failed or the thread was interrupted
+     */
+    @SuppressWarnings("unchecked")
+    public <B> Result<List<B>> parMap(ExecutorService es, Function<A, B> g) {
+        int length = length();
+        int chunkSize = chunkSize(length);
+        if (length <= chunkSize) {
+            try {
+                return Result.success(map(g));
+            } catch (Exception e) {
+                return Result.failure(e);
+            }
+        }
+        Object[] items = toArray();
+        Object[] mapped = new Object[length];
+        java.util.List<Future<Boolean>> futures = new ArrayList<>();
+        for (int from = 0; from < length; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, length);
+            futures.add(es.submit(() -> {
+                for (int i = start; i < end; i++) {
+                    mapped[i] = g.apply((A) items[i]);
+                }
+                return true;
+            }));
+        }
+        // Future.get orders the writes of every chunk before the reads below
+        return collect(futures).map(done -> {
+            List<B> result = list();
+            for (int i = length - 1; i >= 0; i--) {
+                result = new Cons<>((B) mapped[i], result);
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public Iterator<A> iterator() {
+        return new Iterator<A>() {
+            private List<A> list = List.this;
+
+            @Override
+            public boolean hasNext() {
+                return !list.isEmpty();
+            }
+
+            @Override
+            public A next() {
+                if (list.isEmpty()) throw new NoSuchElementException();
+                A a = list.head();
+                list = list.tail();
+                return a;
+            }
+        };
+    }
+
+    /**
+     * exact size from the memoized length, so the jdk can split and presize without counting
+     * @return ORDERED, SIZED, SUBSIZED and IMMUTABLE spliterator
+     */
+    @Override
+    public Spliterator<A> spliterator() {
+        return new ListSpliterator<>(this);
+    }
+
+    public java.util.stream.Stream<A> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public java.util.stream.Stream<A> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // about 4 chunks per worker so that uneven chunks balance out
+    private static int chunkSize(int length) {
+        int chunks = Runtime.getRuntime().availableProcessors() * 4;
+        return Math.max(SEQUENTIAL_THRESHOLD, (length + chunks - 1) / chunks);
+    }
+
+    private Object[] toArray() {
+        Object[] items = new Object[length()];
+        int i = 0;
+        for (List<A> list = this; !list.isEmpty(); list = list.tail()) {
+            items[i++] = list.head();
+        }
+        return items;
+    }
+
+    private static <B> Result<java.util.List<B>> collect(java.util.List<Future<B>> futures) {
+        java.util.List<B> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<B> future : futures) {
+                results.add(future.get());
+            }
+            return Result.success(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            return Result.failure(e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            return cause instanceof RuntimeException
+                    ? Result.failure((RuntimeException) cause)
+                    : Result.failure(e);
+        }
+    }
+
     private static class Nil<A> extends List<A> {
 
         private Nil() {}
@@ -189,47 +501,47 @@ public abstract class List<A> {
 
         @Override
         public String toString() {
-            return String.format("[%sNIL]", toString_(new StringBuilder(), this).eval());
+            return String.format("[%sNIL]", toString_(new StringBuilder(), this));
         }
 
-        private TailCall<StringBuilder> toString_(StringBuilder acc, List<A> list) {
-            return list.isEmpty()
-                    ? ret(acc)
-                    : sus(() -> toString_(acc.append(list.head()).append(", "), list.tail()));
+        private StringBuilder toString_(StringBuilder sb, List<A> list) {
+            return loop(sb, list, (frame, acc, xs) -> xs.isEmpty()
+                    ? frame.ret(acc)
+                    : frame.sus(acc.append(xs.head()).append(", "), xs.tail()));
         }
 
         @Override
         public List<A> drop(int n) {
-            return drop_(this, n).eval();
+            return drop_(this, n);
         }
 
-        private TailCall<List<A>> drop_(List<A> list, int n) {
-            return n <= 0 || list.isEmpty()
-                    ? ret(list)
-                    : sus(() -> drop_(list.tail(), n - 1));
+        private List<A> drop_(List<A> list, int n) {
+            return loop(list, n, (frame, xs, i) -> i <= 0 || xs.isEmpty()
+                    ? frame.ret(xs)
+                    : frame.sus(xs.tail(), i - 1));
         }
 
         @Override
         public List<A> dropWhile(Function<A, Boolean> f) {
-            return dropWhile_(this, f).eval();
+            return dropWhile_(this, f);
         }
 
         // list().dropWhile(f) can't work because java needs to infer type
-        private TailCall<List<A>> dropWhile_(List<A> list, Function<A, Boolean> f) {
-            return !list.isEmpty() && f.apply(list.head())
-                    ? sus(() -> dropWhile_(list.tail(), f))
-                    : ret(list);
+        private List<A> dropWhile_(List<A> list, Function<A, Boolean> f) {
+            return loop(list, f, (frame, xs, p) -> !xs.isEmpty() && p.apply(xs.head())
+                    ? frame.sus(xs.tail(), p)
+                    : frame.ret(xs));
         }
 
         @Override
         public List<A> reverse() {
-            return reverse_(list(), this).eval();
+            return reverse_(list(), this);
         }
 
-        private TailCall<List<A>> reverse_(List<A> acc, List<A> list) {
-            return list.isEmpty()
-                    ? ret(acc)
-                    : sus(() -> reverse_(new Cons<>(list.head(), acc), list.tail()));
+        private List<A> reverse_(List<A> acc, List<A> list) {
+            return loop(acc, list, (frame, result, xs) -> xs.isEmpty()
+                    ? frame.ret(result)
+                    : frame.sus(new Cons<>(xs.head(), result), xs.tail()));
         }
 
         @Override
@@ -244,24 +556,24 @@ public abstract class List<A> {
 
         @Override
         public <B> B foldLeft(B identity, Function<B, Function<A, B>> f) {
-            return foldLeft_(identity, this, f).eval();
+            return foldLeft_(identity, this, f);
         }
 
-        private <B> TailCall<B> foldLeft_(B acc, List<A> list, Function<B, Function<A, B>> f) {
-            return list.isEmpty()
-                    ? ret(acc)
-                    : sus(() -> foldLeft_(f.apply(acc).apply(list.head()), list.tail(), f));
+        private <B> B foldLeft_(B acc, List<A> list, Function<B, Function<A, B>> f) {
+            return loop(acc, list, (frame, result, xs) -> xs.isEmpty()
+                    ? frame.ret(result)
+                    : frame.sus(f.apply(result).apply(xs.head()), xs.tail()));
         }
 
         @Override
         public <B> B foldRight(B identity, Function<A, Function<B, B>> f) {
-            return foldRight_(identity, this.reverse(), f).eval();
+            return foldRight_(identity, this.reverse(), f);
         }
 
-        private <B> TailCall<B> foldRight_(B acc, List<A> list, Function<A, Function<B, B>> f) {
-            return list.isEmpty()
-                    ? ret(acc)
-                    : sus(() -> foldRight_(f.apply(list.head()).apply(acc), list.tail(), f));
+        private <B> B foldRight_(B acc, List<A> list, Function<A, Function<B, B>> f) {
+            return loop(acc, list, (frame, result, xs) -> xs.isEmpty()
+                    ? frame.ret(result)
+                    : frame.sus(f.apply(xs.head()).apply(result), xs.tail()));
         }
 
         @Override
@@ -270,6 +582,119 @@ public abstract class List<A> {
         }
     }
 
+    /**
+     * walks the list with head/tail, the remaining size is the length of the current list
+     * trySplit copies the first half into an array spliterator, which then splits in O(1),
+     * and keeps the second half, which is split again by the next call
+     * @param <A>
+     */
+    private static final class ListSpliterator<A> implements Spliterator<A> {
+
+        private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+
+        private List<A> list;
+
+        private ListSpliterator(List<A> list) {
+            this.list = list;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super A> action) {
+            if (list.isEmpty()) return false;
+            action.accept(list.head());
+            list = list.tail();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super A> action) {
+            for (List<A> l = list; !l.isEmpty(); l = l.tail()) {
+                action.accept(l.head());
+            }
+            list = list();
+        }
+
+        @Override
+        public Spliterator<A> trySplit() {
+            int half = list.length() / 2;
+            if (half == 0) return null;
+            Object[] prefix = new Object[half];
+            for (int i = 0; i < half; i++) {
+                prefix[i] = list.head();
+                list = list.tail();
+            }
+            return Spliterators.spliterator(prefix, 0, half, CHARACTERISTICS);
+        }
+
+        @Override
+        public long estimateSize() {
+            return list.length();
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * mutable buffer hidden behind the immutable api
+     * elements are collected in order, then linked once from the last one,
+     * so building a list costs one Cons per element and no reversed copy
+     * package-private so the traverse of Option, Result and Either can build their output in one pass
+     * @param <A>
+     */
+    static final class Builder<A> {
+
+        private Object[] items;
+        private int size;
+
+        Builder(int capacity) {
+            this.items = new Object[Math.max(capacity, 8)];
+        }
+
+        // for a loop that may stop early: the array grows with what is added instead of being sized upfront
+        static <A> Builder<A> atMost(int length) {
+            return new Builder<>(Math.min(length, 1024));
+        }
+
+        void add(A a) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size << 1);
+            }
+            items[size++] = a;
+        }
+
+        private void addAll(List<A> list) {
+            for (List<A> l = list; !l.isEmpty(); l = l.tail()) {
+                add(l.head());
+            }
+        }
+
+        private Builder<A> addAll(Builder<A> other) {
+            if (size + other.size > items.length) {
+                items = Arrays.copyOf(items, Math.max(size << 1, size + other.size));
+            }
+            System.arraycopy(other.items, 0, items, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        List<A> build() {
+            return build(list());
+        }
+
+        // link the collected elements in front of tail, sharing tail
+        @SuppressWarnings("unchecked")
+        private List<A> build(List<A> tail) {
+            List<A> result = tail;
+            for (int i = size - 1; i >= 0; i--) {
+                result = new Cons<>((A) items[i], result);
+            }
+            return result;
+        }
+    }
+
     // singleton for empty list
     @SuppressWarnings("rawtypes")
     public static final List NIL = new Nil();
@@ -302,6 +727,21 @@ public abstract class List<A> {
         return list;
     }
 
+    /**
+     * collects a java.util.stream.Stream into a List, in encounter order
+     * parallel streams fill one buffer per thread, the buffers are concatenated
+     * and the list is linked once at the end
+     * @param <A>
+     * @return
+     */
+    public static <A> Collector<A, ?, List<A>> collector() {
+        return Collector.<A, Builder<A>, List<A>>of(
+                () -> new Builder<>(8),
+                Builder::add,
+                Builder::addAll,
+                Builder::build);
+    }
+
     /**
      * static method for abstract setHead
      * @param list
@@ -343,7 +783,10 @@ public abstract class List<A> {
      * @return
      */
     public static <A> List<A> concat(List<A> list1, List<A> list2) {
-        return foldRight(list1, list2, x -> y -> new Cons<>(x, y));
+        if (list1.isEmpty()) return list2;
+        Builder<A> builder = new Builder<>(list1.length());
+        builder.addAll(list1);
+        return builder.build(list2);
     }
 
     /**
@@ -371,6 +814,26 @@ public abstract class List<A> {
         return list.reverse().foldLeft(identity, acc -> item -> f.apply(item).apply(acc));
     }
 
+    /**
+     * non-tail recursive foldRight trampolined with TailCall.map
+     * no reversed copy of the list is made, pending steps are kept by TailCall.eval
+     * @param list
+     * @param identity
+     * @param f
+     * @param <A>
+     * @param <B>
+     * @return
+     */
+    public static <A, B> B foldRightViaTailCall(List<A> list, B identity, Function<A, Function<B, B>> f) {
+        return foldRightViaTailCall_(list, identity, f).eval();
+    }
+
+    private static <A, B> TailCall<B> foldRightViaTailCall_(List<A> list, B identity, Function<A, Function<B, B>> f) {
+        return list.isEmpty()
+                ? ret(identity)
+                : sus(() -> foldRightViaTailCall_(list.tail(), identity, f)).map(f.apply(list.head()));
+    }
+
     /**
      *
      * @param list
@@ -0,0 +1,32 @@
+package com.practice.fp.commons;
+
+/**
+ * (long, long) -> long without boxing
+ * uncurried on purpose: a fold step calls apply(acc, i) without creating a closure
+ */
+@FunctionalInterface
+public interface LongBinaryFunction {
+
+    long apply(long acc, long i);
+
+    /**
+     * curried form, still unboxed: each partial application allocates one closure
+     * @return x -> y -> apply(x, y)
+     */
+    default LongFunction<LongToLongFunction> curried() {
+        return x -> y -> apply(x, y);
+    }
+
+    /**
+     * this first, then f on the result
+     * @param f
+     * @return
+     */
+    default LongBinaryFunction andThen(LongToLongFunction f) {
+        return (x, y) -> f.apply(apply(x, y));
+    }
+
+    static LongBinaryFunction uncurried(LongFunction<LongToLongFunction> f) {
+        return (x, y) -> f.apply(x).apply(y);
+    }
+}
@@ -0,0 +1,35 @@
+package com.practice.fp.commons;
+
+/**
+ * long -> U, the argument is not boxed
+ * @param <U>
+ */
+@FunctionalInterface
+public interface LongFunction<U> {
+
+    U apply(long i);
+
+    /**
+     * f first, then this
+     * @param f
+     * @return
+     */
+    default LongFunction<U> compose(LongToLongFunction f) {
+        return x -> apply(f.apply(x));
+    }
+
+    /**
+     * this first, then f
+     * @param f
+     * @param <V>
+     * @return
+     */
+    default <V> LongFunction<V> andThen(Function<U, V> f) {
+        return x -> f.apply(apply(x));
+    }
+
+    // boxes the argument on each call
+    default Function<Long, U> boxed() {
+        return this::apply;
+    }
+}
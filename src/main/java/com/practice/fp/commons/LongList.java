@@ -0,0 +1,158 @@
+package com.practice.fp.commons;
+
+import java.util.Arrays;
+
+/**
+ * immutable persistent list of unboxed longs, stored in chunks (see ChunkedList)
+ * map, filter and range produce a single chunk
+ * folds loop over the arrays: no boxing and no closure per element
+ */
+public final class LongList extends ChunkedList<LongList, long[]> {
+
+    private static final LongList EMPTY = new LongList(null, 0, null, 0);
+
+    private LongList(Chunk<long[]> chunk, int start, LongList next, int length) {
+        super(chunk, start, next, length);
+    }
+
+    @Override
+    LongList create(Chunk<long[]> chunk, int start, LongList next, int length) {
+        return new LongList(chunk, start, next, length);
+    }
+
+    public static LongList empty() {
+        return EMPTY;
+    }
+
+    public static LongList list(long... values) {
+        return of(values.clone());
+    }
+
+    /**
+     * @param start included
+     * @param end excluded
+     * @return start, start + 1, ..., end - 1
+     * @throws ArithmeticException when there are more than Integer.MAX_VALUE elements or end - start overflows
+     */
+    public static LongList range(long start, long end) {
+        if (end <= start) return EMPTY;
+        long[] values = new long[Math.toIntExact(Math.subtractExact(end, start))];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i;
+        }
+        return of(values);
+    }
+
+    /**
+     * @param list commons.List, unboxed once
+     * @return list of the same elements
+     */
+    public static LongList fromList(List<Long> list) {
+        long[] values = new long[list.length()];
+        int i = 0;
+        for (List<Long> l = list; !l.isEmpty(); l = l.tail()) {
+            values[i++] = l.head();
+        }
+        return of(values);
+    }
+
+    public long head() {
+        if (length == 0) throw new IllegalStateException("head called on empty list");
+        return chunk.values[start];
+    }
+
+    public LongList cons(long i) {
+        if (claimFront()) {
+            chunk.values[start - 1] = i;
+            return new LongList(chunk, start - 1, next, length + 1);
+        }
+        long[] values = new long[newChunkSize()];
+        values[values.length - 1] = i;
+        return new LongList(new Chunk<>(values, values.length - 1), values.length - 1, this, length + 1);
+    }
+
+    public long foldLeft(long identity, LongBinaryFunction f) {
+        long acc = identity;
+        for (LongList l = this; l.length > 0; l = l.next) {
+            long[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                acc = f.apply(acc, values[i]);
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * generic fold, each element is boxed when passed to f
+     * @param identity
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public <B> B foldLeft(B identity, Function<B, Function<Long, B>> f) {
+        B acc = identity;
+        for (LongList l = this; l.length > 0; l = l.next) {
+            long[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                acc = f.apply(acc).apply(values[i]);
+            }
+        }
+        return acc;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (LongList l = this; l.length > 0; l = l.next) {
+            long[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    public LongList map(LongToLongFunction f) {
+        long[] result = new long[length];
+        int n = 0;
+        for (LongList l = this; l.length > 0; l = l.next) {
+            long[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                result[n++] = f.apply(values[i]);
+            }
+        }
+        return of(result);
+    }
+
+    public LongList filter(LongToBooleanFunction p) {
+        long[] result = new long[length];
+        int n = 0;
+        for (LongList l = this; l.length > 0; l = l.next) {
+            long[] values = l.chunk.values;
+            for (int i = l.start; i < values.length; i++) {
+                if (p.apply(values[i])) result[n++] = values[i];
+            }
+        }
+        return of(n < result.length ? Arrays.copyOf(result, n) : result);
+    }
+
+    public long[] toArray() {
+        return copyInto(new long[length]);
+    }
+
+    /**
+     * @return commons.List of the boxed elements, in order
+     */
+    public List<Long> toList() {
+        long[] values = toArray();
+        List<Long> result = List.list();
+        for (int i = values.length - 1; i >= 0; i--) {
+            result = result.cons(values[i]);
+        }
+        return result;
+    }
+
+    // one chunk holding all the values, the array is not shared afterwards
+    private static LongList of(long[] values) {
+        return values.length == 0 ? EMPTY : new LongList(new Chunk<>(values, 0), 0, EMPTY, values.length);
+    }
+}
@@ -0,0 +1,10 @@
+package com.practice.fp.commons;
+
+/**
+ * long -> boolean without boxing, used as a predicate
+ */
+@FunctionalInterface
+public interface LongToBooleanFunction {
+
+    boolean apply(long i);
+}
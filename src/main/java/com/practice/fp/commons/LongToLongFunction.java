@@ -0,0 +1,83 @@
+package com.practice.fp.commons;
+
+/**
+ * long -> long without boxing
+ * compositions of LongToLongFunction stay unboxed at every stage,
+ * boxed() and unboxed() are the bridges with Function<Long, Long>
+ */
+@FunctionalInterface
+public interface LongToLongFunction {
+
+    long apply(long i);
+
+    /**
+     * f first, then this
+     * @param f
+     * @return
+     */
+    default LongToLongFunction compose(LongToLongFunction f) {
+        return x -> apply(f.apply(x));
+    }
+
+    /**
+     * this first, then f
+     * @param f
+     * @return
+     */
+    default LongToLongFunction andThen(LongToLongFunction f) {
+        return x -> f.apply(apply(x));
+    }
+
+    /**
+     * this first, then f on the result, boxed once at the end
+     * @param f
+     * @param <U>
+     * @return
+     */
+    default <U> LongFunction<U> andThenToObj(LongFunction<U> f) {
+        return x -> f.apply(apply(x));
+    }
+
+    // boxes the argument and the result on each call
+    default Function<Long, Long> boxed() {
+        return this::apply;
+    }
+
+    static LongToLongFunction identity() {
+        return x -> x;
+    }
+
+    // unboxes the argument and the result on each call
+    static LongToLongFunction unboxed(Function<Long, Long> f) {
+        return f::apply;
+    }
+
+    /**
+     * g first, then f
+     * @param f
+     * @param g
+     * @return
+     */
+    static LongToLongFunction compose(LongToLongFunction f, LongToLongFunction g) {
+        return x -> f.apply(g.apply(x));
+    }
+
+    /**
+     * f first, then g
+     * @param f
+     * @param g
+     * @return
+     */
+    static LongToLongFunction andThen(LongToLongFunction f, LongToLongFunction g) {
+        return x -> g.apply(f.apply(x));
+    }
+
+    /**
+     * compose with curry style, the composed function is unboxed
+     * f -> g -> f first, then g
+     * @return
+     */
+    static Function<LongToLongFunction, Function<LongToLongFunction, LongToLongFunction>> compose() {
+        return x -> y -> y.compose(x);
+    }
+}
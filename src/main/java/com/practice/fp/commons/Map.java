@@ -0,0 +1,406 @@
+package com.practice.fp.commons;
+
+import java.util.Objects;
+
+/**
+ * immutable persistent hash map (hash array mapped trie)
+ * put and remove return a new map sharing every untouched node with this one,
+ * each level consumes 5 bits of the hash, so a lookup visits at most 7 nodes
+ * keys must not be null
+ *
+ * for bulk building use asTransient(): nodes owned by the transient are updated in place,
+ * persistent() freezes the result
+ * @param <K> key
+ * @param <V> value
+ */
+public final class Map<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object NOT_FOUND = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final Map EMPTY = new Map<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private Map(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> Map<K, V> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param key key
+     * @return Some(value) or None, with a single lookup
+     */
+    @SuppressWarnings("unchecked")
+    public Option<V> get(K key) {
+        Object value = find(key);
+        return value == NOT_FOUND ? Option.none() : Option.some((V) value);
+    }
+
+    /**
+     * @param key key
+     * @return Success(value) or Empty, with a single lookup
+     */
+    @SuppressWarnings("unchecked")
+    public Result<V> getResult(K key) {
+        Object value = find(key);
+        return value == NOT_FOUND ? Result.empty() : Result.success((V) value);
+    }
+
+    public boolean containsKey(K key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    public Map<K, V> put(K key, V value) {
+        Objects.requireNonNull(key, "null key");
+        Box added = new Box();
+        Node newRoot = (root == null ? BitmapNode.EMPTY : root).assoc(null, 0, hash(key), key, value, added);
+        return newRoot == root ? this : new Map<>(newRoot, added.value ? size + 1 : size);
+    }
+
+    public Map<K, V> remove(K key) {
+        if (root == null || key == null) return this;
+        Box removed = new Box();
+        Node newRoot = root.without(null, 0, hash(key), key, removed);
+        if (!removed.value) return this;
+        return newRoot == null ? empty() : new Map<>(newRoot, size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * fold over the entries, in hash order
+     * @param identity initial value
+     * @param f B -> (K, V) -> B
+     * @param <B> B
+     * @return folded value
+     */
+    public <B> B foldLeft(B identity, Function<B, Function<Tuple<K, V>, B>> f) {
+        return root == null ? identity : root.fold(identity, f);
+    }
+
+    public List<K> keys() {
+        return foldLeft(List.<K>list(), acc -> e -> acc.cons(e._1)).reverse();
+    }
+
+    public List<V> values() {
+        return foldLeft(List.<V>list(), acc -> e -> acc.cons(e._2)).reverse();
+    }
+
+    /**
+     * @return mutable view for batch inserts, this map is not changed
+     */
+    public Transient<K, V> asTransient() {
+        return new Transient<>(root, size);
+    }
+
+    @Override
+    public String toString() {
+        return foldLeft(new StringBuilder("{"), sb -> e -> sb.append(sb.length() > 1 ? ", " : "")
+                .append(e._1).append('=').append(e._2))
+                .append('}').toString();
+    }
+
+    private Object find(K key) {
+        return root == null || key == null ? NOT_FOUND : root.find(0, hash(key), key);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * batch-insert mode
+     * nodes created by this transient are updated in place instead of copied,
+     * not thread-safe, and unusable once persistent() is called
+     * @param <K> key
+     * @param <V> value
+     */
+    public static final class Transient<K, V> {
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+
+        private Transient(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        public Transient<K, V> put(K key, V value) {
+            Objects.requireNonNull(key, "null key");
+            Box added = new Box();
+            root = (root == null ? BitmapNode.EMPTY : root).assoc(edit(), 0, hash(key), key, value, added);
+            if (added.value) size++;
+            return this;
+        }
+
+        public Transient<K, V> remove(K key) {
+            if (root == null || key == null) return this;
+            Box removed = new Box();
+            root = root.without(edit(), 0, hash(key), key, removed);
+            if (removed.value) size--;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Map<K, V> persistent() {
+            edit();
+            edit = null;
+            return root == null ? empty() : new Map<>(root, size);
+        }
+
+        private Object edit() {
+            if (edit == null) throw new IllegalStateException("transient used after persistent()");
+            return edit;
+        }
+    }
+
+    private static final class Box {
+        private boolean value;
+    }
+
+    private abstract static class Node {
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(Object edit, int shift, int hash, Object key, Object value, Box added);
+
+        // null when the node becomes empty
+        abstract Node without(Object edit, int shift, int hash, Object key, Box removed);
+
+        abstract <K, V, B> B fold(B acc, Function<B, Function<Tuple<K, V>, B>> f);
+    }
+
+    /**
+     * one slot pair per set bit of the bitmap:
+     * [key, value] for an entry, [null, child node] for a sub-trie
+     */
+    private static final class BitmapNode extends Node {
+        private static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        private final Object edit;
+        private int bitmap;
+        private Object[] array;
+
+        private BitmapNode(Object edit, int bitmap, Object[] array) {
+            this.edit = edit;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) return NOT_FOUND;
+            int i = 2 * index(bit);
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) return ((Node) v).find(shift + BITS, hash, key);
+            return key.equals(k) ? v : NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, Box added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) != 0) {
+                Object k = array[i];
+                Object v = array[i + 1];
+                if (k == null) {
+                    Node child = ((Node) v).assoc(edit, shift + BITS, hash, key, value, added);
+                    return child == v ? this : set(edit, i + 1, child);
+                }
+                if (key.equals(k)) {
+                    return v == value ? this : set(edit, i + 1, value);
+                }
+                added.value = true;
+                Node child = createNode(edit, shift + BITS, k, v, hash, key, value);
+                return set(edit, i, null, child);
+            }
+            added.value = true;
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            System.arraycopy(array, i, newArray, i + 2, array.length - i);
+            if (edit != null && edit == this.edit) {
+                this.array = newArray;
+                this.bitmap |= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, newArray);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, Object key, Box removed) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) return this;
+            int i = 2 * index(bit);
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(edit, shift + BITS, hash, key, removed);
+                if (child == v) return this;
+                if (child != null) return set(edit, i + 1, child);
+            } else if (!key.equals(k)) {
+                return this;
+            } else {
+                removed.value = true;
+            }
+            if (bitmap == bit) return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            if (edit != null && edit == this.edit) {
+                this.array = newArray;
+                this.bitmap ^= bit;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, newArray);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <K, V, B> B fold(B acc, Function<B, Function<Tuple<K, V>, B>> f) {
+            B result = acc;
+            for (int i = 0; i < array.length; i += 2) {
+                result = array[i] == null
+                        ? ((Node) array[i + 1]).fold(result, f)
+                        : f.apply(result).apply(new Tuple<>((K) array[i], (V) array[i + 1]));
+            }
+            return result;
+        }
+
+        private BitmapNode set(Object edit, int i, Object a) {
+            BitmapNode node = editable(edit);
+            node.array[i] = a;
+            return node;
+        }
+
+        private BitmapNode set(Object edit, int i, Object a, Object b) {
+            BitmapNode node = editable(edit);
+            node.array[i] = a;
+            node.array[i + 1] = b;
+            return node;
+        }
+
+        // this node if owned by the transient, else a copy
+        private BitmapNode editable(Object edit) {
+            return edit != null && edit == this.edit
+                    ? this
+                    : new BitmapNode(edit, bitmap, array.clone());
+        }
+
+        private static Node createNode(Object edit, int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = hash(k1);
+            if (h1 == h2) {
+                return new CollisionNode(edit, h1, new Object[] {k1, v1, k2, v2});
+            }
+            Box ignored = new Box();
+            return new BitmapNode(edit, 0, new Object[0])
+                    .assoc(edit, shift, h1, k1, v1, ignored)
+                    .assoc(edit, shift, h2, k2, v2, ignored);
+        }
+    }
+
+    // keys with the same full hash, compared linearly
+    private static final class CollisionNode extends Node {
+        private final Object edit;
+        private final int hash;
+        private Object[] array;
+
+        private CollisionNode(Object edit, int hash, Object[] array) {
+            this.edit = edit;
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, Box added) {
+            if (hash != this.hash) {
+                // push this node one level down next to the new key
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                return new BitmapNode(edit, bit, new Object[] {null, this})
+                        .assoc(edit, shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            Object[] newArray;
+            if (i >= 0) {
+                if (array[i + 1] == value) return this;
+                newArray = array.clone();
+                newArray[i + 1] = value;
+            } else {
+                added.value = true;
+                newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, array.length);
+                newArray[array.length] = key;
+                newArray[array.length + 1] = value;
+            }
+            if (edit != null && edit == this.edit) {
+                this.array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, Object key, Box removed) {
+            int i = indexOf(key);
+            if (i < 0) return this;
+            removed.value = true;
+            if (array.length == 2) return null;
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, i);
+            System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+            if (edit != null && edit == this.edit) {
+                this.array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <K, V, B> B fold(B acc, Function<B, Function<Tuple<K, V>, B>> f) {
+            B result = acc;
+            for (int i = 0; i < array.length; i += 2) {
+                result = f.apply(result).apply(new Tuple<>((K) array[i], (V) array[i + 1]));
+            }
+            return result;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.practice.fp.commons;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class Memoizer<T, U> {
@@ -15,4 +18,217 @@ public class Memoizer<T, U> {
     public static <T, U> Function<T, U> memoize(Function<T, U> function) {
         return new Memoizer<T, U>().doMemoize(function);
     }
+
+    /**
+     * single-flight memoization
+     * the cache stores in-flight futures: the first caller of a key computes it outside of any map lock,
+     * concurrent callers of the same key wait for that one computation,
+     * callers of other keys never block, and recursive memoized functions (e.g. fibonacci) work
+     * a failed computation is not cached, its waiters get the same exception
+     * @param function function to memoize
+     * @param <T> T
+     * @param <U> U
+     * @return memoized function
+     */
+    public static <T, U> Function<T, U> memoizeSingleFlight(Function<T, U> function) {
+        Map<T, CompletableFuture<U>> inFlight = new ConcurrentHashMap<>();
+        return input -> {
+            CompletableFuture<U> future = inFlight.get(input);
+            if (future == null) {
+                CompletableFuture<U> created = new CompletableFuture<>();
+                future = inFlight.putIfAbsent(input, created);
+                if (future == null) {
+                    return compute(inFlight, input, created, function);
+                }
+            }
+            return join(future);
+        };
+    }
+
+    private static <T, U> U compute(Map<T, CompletableFuture<U>> inFlight,
+                                    T input,
+                                    CompletableFuture<U> future,
+                                    Function<T, U> function) {
+        try {
+            U value = function.apply(input);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(input, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <U> U join(CompletableFuture<U> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Function.recursive with a cache shared by the top-level call and every recursive call,
+     * so each argument is evaluated once, in constant stack, e.g.
+     * Function<Integer, BigInteger> fib = Memoizer.memoizeRecursive(self -> n -> n <= 1
+     *         ? TailCall.ret(BigInteger.valueOf(n))
+     *         : self.apply(n - 1).flatMap(a -> self.apply(n - 2).map(a::add)));
+     * null results are not cached
+     * @param f self -> body, see Function.recursive
+     * @param <T> T
+     * @param <U> U
+     * @return memoized recursive function
+     */
+    public static <T, U> Function<T, U> memoizeRecursive(
+            Function<Function<T, TailCall<U>>, Function<T, TailCall<U>>> f) {
+        Map<T, U> cache = new ConcurrentHashMap<>();
+        Function<T, U> function = Function.recursive(self -> f.apply(input -> {
+            U cached = cache.get(input);
+            return cached != null
+                    ? TailCall.ret(cached)
+                    : self.apply(input).map(value -> cache(cache, input, value));
+        }));
+        return input -> {
+            U cached = cache.get(input);
+            return cached != null ? cached : cache(cache, input, function.apply(input));
+        };
+    }
+
+    private static <T, U> U cache(Map<T, U> cache, T input, U value) {
+        if (value != null) cache.putIfAbsent(input, value);
+        return value;
+    }
+
+    /**
+     * memoize a curried function of 2 arguments
+     * one flat cache keyed on both arguments instead of one cache per distinct first argument
+     * @param function A -> B -> C
+     * @param <A> A
+     * @param <B> B
+     * @param <C> C
+     * @return memoized A -> B -> C
+     */
+    public static <A, B, C> Function<A, Function<B, C>> memoize2(Function<A, Function<B, C>> function) {
+        Function<Key2<A, B>, C> memoized = memoize(key -> function.apply(key._1).apply(key._2));
+        return a -> b -> memoized.apply(new Key2<>(a, b));
+    }
+
+    /**
+     * memoize a curried function of 3 arguments with one flat cache
+     * @param function A -> B -> C -> D
+     * @param <A> A
+     * @param <B> B
+     * @param <C> C
+     * @param <D> D
+     * @return memoized A -> B -> C -> D
+     */
+    public static <A, B, C, D> Function<A, Function<B, Function<C, D>>> memoize3(
+            Function<A, Function<B, Function<C, D>>> function) {
+        Function<Key3<A, B, C>, D> memoized =
+                memoize(key -> function.apply(key._1).apply(key._2).apply(key._3));
+        return a -> b -> c -> memoized.apply(new Key3<>(a, b, c));
+    }
+
+    /**
+     * memoize a function of Tuple, Tuple has no equals/hashCode so the cache is keyed on its components
+     * @param function Tuple(A, B) -> C
+     * @param <A> A
+     * @param <B> B
+     * @param <C> C
+     * @return memoized Tuple(A, B) -> C
+     */
+    public static <A, B, C> Function<Tuple<A, B>, C> memoizeTuple(Function<Tuple<A, B>, C> function) {
+        Function<Key2<A, B>, C> memoized = memoize(key -> function.apply(new Tuple<>(key._1, key._2)));
+        return tuple -> memoized.apply(new Key2<>(tuple._1, tuple._2));
+    }
+
+    /**
+     * memoize a function of Tuple3 with one flat cache
+     * Tuple3 has value equals/hashCode, so the tuple itself is the key: no wrapper and no copy per call
+     * @param function Tuple3(A, B, C) -> D
+     * @param <A> A
+     * @param <B> B
+     * @param <C> C
+     * @param <D> D
+     * @return memoized Tuple3(A, B, C) -> D
+     */
+    public static <A, B, C, D> Function<Tuple3<A, B, C>, D> memoizeTuple3(Function<Tuple3<A, B, C>, D> function) {
+        return memoize(function);
+    }
+
+    // composite key, hash is computed once
+    private static final class Key2<A, B> {
+        private final A _1;
+        private final B _2;
+        private final int hash;
+
+        private Key2(A _1, B _2) {
+            this._1 = _1;
+            this._2 = _2;
+            this.hash = 31 * Objects.hashCode(_1) + Objects.hashCode(_2);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key2)) return false;
+            Key2<?, ?> that = (Key2<?, ?>) o;
+            return hash == that.hash && Objects.equals(_1, that._1) && Objects.equals(_2, that._2);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Key3<A, B, C> {
+        private final A _1;
+        private final B _2;
+        private final C _3;
+        private final int hash;
+
+        private Key3(A _1, B _2, C _3) {
+            this._1 = _1;
+            this._2 = _2;
+            this._3 = _3;
+            this.hash = 31 * (31 * Objects.hashCode(_1) + Objects.hashCode(_2)) + Objects.hashCode(_3);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key3)) return false;
+            Key3<?, ?, ?> that = (Key3<?, ?, ?>) o;
+            return hash == that.hash
+                    && Objects.equals(_1, that._1)
+                    && Objects.equals(_2, that._2)
+                    && Objects.equals(_3, that._3);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * memoizer with a bounded cache (size, weight, expiry, LRU or LFU)
+     * @return builder of BoundedMemoizer
+     */
+    public static BoundedMemoizer.Builder<Object, Object> builder() {
+        return new BoundedMemoizer.Builder<>();
+    }
+
+    /**
+     * memoizer of asynchronous functions (deduplicated loads, refresh-ahead)
+     * @return builder of AsyncMemoizer
+     */
+    public static AsyncMemoizer.Builder async() {
+        return new AsyncMemoizer.Builder();
+    }
 }
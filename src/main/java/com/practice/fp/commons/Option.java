@@ -6,8 +6,9 @@ public abstract class Option<A> {
 
     private Option() {}
 
+    // the only None: empty options are never allocated
     @SuppressWarnings("rawtypes")
-    private static Option none = new None();
+    private static final Option NONE = new None();
 
     // return value if exist, throw if not exist
     public abstract A getOrThrow();
@@ -15,25 +16,10 @@ public abstract class Option<A> {
     public abstract A getOrElse(Supplier<A> supplier);
     // convert Option A to Option B
     public abstract <B> Option<B> map(Function<A, B> f);
-
-    /**
-     * method to compose Option
-     * @param f
-     * @param <B>
-     * @return
-     */
-    public <B> Option<B> flatMap(Function<A, Option<B>> f) {
-        return map(f).getOrElse(() -> new None<>());
-    }
-
-    /**
-     * x -> this = A -> Option A
-     * @param defaultValue
-     * @return
-     */
-    public Option<A> orElse(Supplier<Option<A>> defaultValue) {
-        return map(x -> this).getOrElse(defaultValue);
-    }
+    // method to compose Option: f's result as is for Some, None for None
+    public abstract <B> Option<B> flatMap(Function<A, Option<B>> f);
+    // itself for Some, the default value for None
+    public abstract Option<A> orElse(Supplier<Option<A>> defaultValue);
 
     /**
      * check if Option match condition or not
@@ -42,10 +28,14 @@ public abstract class Option<A> {
      * @param f condition function like predicate
      * @return itself or none
      */
-    public Option<A> filter(Function<A, Boolean> f) {
-        return flatMap(x -> f.apply(x)
-                ? this
-                : none());
+    public abstract Option<A> filter(Function<A, Boolean> f);
+
+    /**
+     * bridge to jdk streams, e.g. list.stream().flatMap(Option::stream)
+     * @return stream of the value, or an empty stream
+     */
+    public java.util.stream.Stream<A> stream() {
+        return map(java.util.stream.Stream::of).getOrElse(java.util.stream.Stream::empty);
     }
 
     /**
@@ -65,17 +55,33 @@ public abstract class Option<A> {
     }
 
     /**
-     *
+     * map2 with an uncurried function
+     * @param a
+     * @param b
+     * @param f
+     * @param <A>
+     * @param <B>
+     * @param <C>
+     * @return
+     */
+    public static <A, B, C> Option<C> map2(Option<A> a, Option<B> b, Function2<A, B, C> f) {
+        return a.flatMap(ax -> b.map(bx -> f.apply(ax, bx)));
+    }
+
+    /**
+     * single pass, stops at the first None
      * @param list
      * @param <A>
      * @return
      */
     public static <A> Option<List<A>> sequence(List<Option<A>> list) {
-        return list.foldRight(some(List.list()), x -> y -> map2(x, y, a -> b -> b.cons(a)));
+        return traverse(list, x -> x);
     }
 
     /**
-     *
+     * one forward loop: the values are collected in a List.Builder and linked once,
+     * the first None is returned as is and the rest of the list is not visited
+     * stack safe on any length
      * @param list
      * @param f
      * @param <A>
@@ -83,17 +89,53 @@ public abstract class Option<A> {
      * @return
      */
     public static <A, B> Option<List<B>> traverse(List<A> list, Function<A, Option<B>> f) {
+        List.Builder<B> builder = List.Builder.atMost(list.length());
+        for (List<A> l = list; !l.isEmpty(); l = l.tail()) {
+            Option<B> b = Objects.requireNonNull(f.apply(l.head()), "traverse function returned null");
+            if (b instanceof None) return none();
+            builder.add(((Some<B>) b).value);
+        }
+        return some(builder.build());
+    }
+
+    /**
+     * the former sequence: foldRight + map2, a Some per element and no short-circuit
+     * @param list
+     * @param <A>
+     * @return
+     */
+    public static <A> Option<List<A>> sequenceViaFoldRight(List<Option<A>> list) {
+        return list.foldRight(some(List.list()), x -> y -> map2(x, y, a -> b -> b.cons(a)));
+    }
+
+    /**
+     * the former traverse, kept for comparison
+     * @param list
+     * @param f
+     * @param <A>
+     * @param <B>
+     * @return
+     */
+    public static <A, B> Option<List<B>> traverseViaFoldRight(List<A> list, Function<A, Option<B>> f) {
         return list.foldRight(some(List.list()), x -> y -> map2(f.apply(x), y, a -> b -> b.cons(a)));
     }
 
+    /**
+     * @deprecated same as sequence, which is now implemented with traverse
+     */
+    @Deprecated
     public static <A> Option<List<A>> sequenceByTraverse(List<Option<A>> list) {
-        return traverse(list, x -> x);
+        return sequence(list);
     }
 
     public static <A, B> Function<Option<A>, Option<B>> lift(Function<A, B> f) {
         return a -> a.map(f);
     }
 
+    public static <A, B, C> Function2<Option<A>, Option<B>, Option<C>> lift2(Function2<A, B, C> f) {
+        return (a, b) -> map2(a, b, f);
+    }
+
     public static <A, B> Function<A, Option<B>> hlift(Function<A, B> f) {
         return x -> {
             try {
@@ -122,6 +164,21 @@ public abstract class Option<A> {
             return none();
         }
 
+        @Override
+        public <B> Option<B> flatMap(Function<A, Option<B>> f) {
+            return none();
+        }
+
+        @Override
+        public Option<A> orElse(Supplier<Option<A>> defaultValue) {
+            return defaultValue.get();
+        }
+
+        @Override
+        public Option<A> filter(Function<A, Boolean> f) {
+            return this;
+        }
+
         @Override
         public String toString() {
             return "None";
@@ -160,6 +217,21 @@ public abstract class Option<A> {
             return new Some<>(f.apply(this.value));
         }
 
+        @Override
+        public <B> Option<B> flatMap(Function<A, Option<B>> f) {
+            return f.apply(this.value);
+        }
+
+        @Override
+        public Option<A> orElse(Supplier<Option<A>> defaultValue) {
+            return this;
+        }
+
+        @Override
+        public Option<A> filter(Function<A, Boolean> f) {
+            return f.apply(this.value) ? this : none();
+        }
+
         @Override
         public String toString() {
             return String.format("Some{%s}", this.value);
@@ -183,6 +255,6 @@ public abstract class Option<A> {
 
     @SuppressWarnings("unchecked")
     public static <A> Option<A> none() {
-        return new None<>();
+        return NONE;
     }
 }
@@ -1,13 +1,27 @@
 package com.practice.fp.commons;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-
+import java.util.Objects;
+
+/**
+ * Success, Failure or Empty
+ * failures created from a message capture no stack trace and format their message only when it is read,
+ * so failing is cheap when failures are part of the normal flow (validation)
+ * stack traces can be enabled for every failure with -Dcom.practice.fp.commons.Result.stackTraces=true
+ * or for one call site with failureWithStackTrace
+ * @param <T>
+ */
 public abstract class Result<T> implements Serializable {
 
+    private static final boolean STACK_TRACES = Boolean.getBoolean("com.practice.fp.commons.Result.stackTraces");
+
     private Result() {}
 
+    // the only Empty: empty results are never allocated
     @SuppressWarnings("rawtypes")
-    private static Result empty = new Empty();
+    private static final Result EMPTY = new Empty();
 
     // get value for Success case, default value for Failure or Empty
     public abstract T getOrElse(final T defaultValue);
@@ -38,9 +52,8 @@ public abstract class Result<T> implements Serializable {
     // The typical use case for this method is as follows (using a hypothetical Logger type with a log method)
     public abstract Result<RuntimeException> forEachOrException(Effect<T> ef);
 
-    public Result<T> orElse(Supplier<Result<T>> defaultValue) {
-        return map(x -> this).getOrElse(defaultValue);
-    }
+    // itself for Success, the default value for Failure and Empty
+    public abstract Result<T> orElse(Supplier<Result<T>> defaultValue);
 
     /**
      * a method filter taking a condition that’s represented by a function from T to Boolean, and returning a Result<T>,
@@ -49,18 +62,17 @@ public abstract class Result<T> implements Serializable {
      * @return filtered results
      */
     public Result<T> filter(Function<T, Boolean> f) {
-        return flatMap(x -> f.apply(x) ? this : failure("Condition not matched"));
+        return filter(f, "Condition not matched");
     }
 
     /**
      * a method filter taking a condition that’s represented by a function from T to Boolean, and returning a Result<T>,
      * which will be a Success or a Failure depending on whether the condition holds for the wrapped value
+     * Failure and Empty are returned as is
      * @param f condition function
      * @return filtered results
      */
-    public Result<T> filter(Function<T, Boolean> f, String message) {
-        return flatMap(x -> f.apply(x) ? this : failure(message));
-    }
+    public abstract Result<T> filter(Function<T, Boolean> f, String message);
 
     /**
      * Define an exists method that takes a function from T to Boolean
@@ -69,8 +81,20 @@ public abstract class Result<T> implements Serializable {
      * @param f condition function
      * @return True or False
      */
-    public boolean exists(Function<T, Boolean> f) {
-        return map(f).getOrElse(false);
+    public abstract boolean exists(Function<T, Boolean> f);
+
+    /**
+     * @param emptyMessage error for Empty
+     * @return Valid for Success, Invalid with the failure message for Failure
+     */
+    public abstract Validation<String, T> toValidation(String emptyMessage);
+
+    /**
+     * bridge to jdk streams, Failure and Empty give an empty stream
+     * @return stream of the success value
+     */
+    public java.util.stream.Stream<T> stream() {
+        return map(java.util.stream.Stream::of).getOrElse(java.util.stream.Stream::empty);
     }
 
     private static class Empty<T> extends Result<T> {
@@ -79,6 +103,11 @@ public abstract class Result<T> implements Serializable {
             super();
         }
 
+        // deserializing gives back the singleton, private so that Failure does not inherit it
+        private Object readResolve() {
+            return EMPTY;
+        }
+
         @Override
         public T getOrElse(T defaultValue) {
             return defaultValue;
@@ -99,6 +128,21 @@ public abstract class Result<T> implements Serializable {
             return empty();
         }
 
+        @Override
+        public Result<T> orElse(Supplier<Result<T>> defaultValue) {
+            return defaultValue.get();
+        }
+
+        @Override
+        public Result<T> filter(Function<T, Boolean> f, String message) {
+            return this;
+        }
+
+        @Override
+        public boolean exists(Function<T, Boolean> f) {
+            return false;
+        }
+
         @Override
         public Result<T> mapFailure(String s) {
             return this;
@@ -119,6 +163,11 @@ public abstract class Result<T> implements Serializable {
             return empty();
         }
 
+        @Override
+        public Validation<String, T> toValidation(String emptyMessage) {
+            return Validation.invalid(emptyMessage);
+        }
+
         @Override
         public String toString() {
             return "Empty()";
@@ -129,21 +178,11 @@ public abstract class Result<T> implements Serializable {
 
         private final RuntimeException exception;
 
-        private Failure(String message) {
-            super();
-            this.exception = new IllegalStateException(message);
-        }
-
         private Failure(RuntimeException exception) {
             super();
             this.exception = exception;
         }
 
-        private Failure(Exception exception) {
-            super();
-            this.exception = new IllegalStateException(exception.getMessage(), exception);
-        }
-
         @Override
         public String toString() {
             return String.format("Failure(%s)", exception.getMessage());
@@ -159,19 +198,22 @@ public abstract class Result<T> implements Serializable {
             return defaultValue.get();
         }
 
+        // a failure holds no value, so it is passed along as is
         @Override
+        @SuppressWarnings("unchecked")
         public <U> Result<U> map(Function<T, U> f) {
-            return failure(this.exception);
+            return (Result<U>) this;
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         public <U> Result<U> flatMap(Function<T, Result<U>> f) {
-            return failure(this.exception);
+            return (Result<U>) this;
         }
 
         @Override
         public Result<T> mapFailure(String s) {
-            return failure(new IllegalStateException(s, exception));
+            return new Failure<>(FailureException.of(() -> s, exception, STACK_TRACES));
         }
 
         @Override
@@ -183,6 +225,62 @@ public abstract class Result<T> implements Serializable {
         public Result<RuntimeException> forEachOrException(Effect<T> ef) {
             return success(exception);
         }
+
+        @Override
+        public Validation<String, T> toValidation(String emptyMessage) {
+            return Validation.invalid(exception.getMessage());
+        }
+    }
+
+    /**
+     * IllegalStateException whose message is computed on first read
+     * the stackless variant skips fillInStackTrace, which is most of the cost of creating an exception
+     */
+    private static class FailureException extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient Supplier<String> supplier;
+        private String message;
+
+        private FailureException(Supplier<String> supplier, Throwable cause) {
+            super(null, cause);
+            this.supplier = supplier;
+        }
+
+        private static FailureException of(Supplier<String> message, Throwable cause, boolean stackTrace) {
+            return stackTrace
+                    ? new FailureException(message, cause)
+                    : new StacklessFailureException(message, cause);
+        }
+
+        @Override
+        public synchronized String getMessage() {
+            if (supplier != null) {
+                message = supplier.get();
+                supplier = null;
+            }
+            return message;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            getMessage();
+            out.defaultWriteObject();
+        }
+    }
+
+    private static final class StacklessFailureException extends FailureException {
+
+        private static final long serialVersionUID = 1L;
+
+        private StacklessFailureException(Supplier<String> supplier, Throwable cause) {
+            super(supplier, cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
     }
 
     private static class Success<T> extends Result<T> {
@@ -218,6 +316,21 @@ public abstract class Result<T> implements Serializable {
             return f.apply(this.value);
         }
 
+        @Override
+        public Result<T> orElse(Supplier<Result<T>> defaultValue) {
+            return this;
+        }
+
+        @Override
+        public Result<T> filter(Function<T, Boolean> f, String message) {
+            return f.apply(value) ? this : failure(message);
+        }
+
+        @Override
+        public boolean exists(Function<T, Boolean> f) {
+            return f.apply(value);
+        }
+
         @Override
         public Result<T> mapFailure(String s) {
             return this;
@@ -238,18 +351,49 @@ public abstract class Result<T> implements Serializable {
             ef.apply(value);
             return empty();
         }
+
+        @Override
+        public Validation<String, T> toValidation(String emptyMessage) {
+            return Validation.valid(value);
+        }
     }
 
+    /**
+     * @param message
+     * @param <T>
+     * @return failure holding an IllegalStateException without stack trace (unless enabled globally)
+     */
     public static <T> Result<T> failure(String message) {
-        return new Failure<>(message);
+        return new Failure<>(FailureException.of(() -> message, null, STACK_TRACES));
+    }
+
+    /**
+     * @param message evaluated the first time the message is read
+     * @param <T>
+     * @return failure holding an IllegalStateException without stack trace (unless enabled globally)
+     */
+    public static <T> Result<T> failure(Supplier<String> message) {
+        return new Failure<>(FailureException.of(message, null, STACK_TRACES));
     }
 
+    /**
+     * for the call sites whose failures are worth a stack trace
+     * @param message
+     * @param <T>
+     * @return failure holding an IllegalStateException with the stack trace of this call
+     */
+    public static <T> Result<T> failureWithStackTrace(String message) {
+        return new Failure<>(FailureException.of(() -> message, null, true));
+    }
+
+    // the exception is kept as is
     public static <T> Result<T> failure(RuntimeException ex) {
         return new Failure<>(ex);
     }
 
+    // wrapped in an IllegalStateException, the stack trace is the one of ex
     public static <T> Result<T> failure(Exception ex) {
-        return new Failure<>(ex);
+        return new Failure<>(FailureException.of(ex::getMessage, ex, STACK_TRACES));
     }
 
     public static <T> Result<T> success(T value) {
@@ -272,8 +416,8 @@ public abstract class Result<T> implements Serializable {
                     ? success(value)
                     : empty();
         } catch (Exception e) {
-            String error = String.format("Exception while evaluating predicate: %s", value);
-            return failure(new IllegalStateException(error, e));
+            return new Failure<>(FailureException.of(
+                    () -> String.format("Exception while evaluating predicate: %s", value), e, STACK_TRACES));
         }
     }
 
@@ -283,9 +427,10 @@ public abstract class Result<T> implements Serializable {
                     ? success(value)
                     : failure(message);
         } catch (Exception e) {
-            String error = String.format("Exception while evaluating predicate: %s",
-                    String.format(message, value));
-            return failure(new IllegalStateException(error, e));
+            return new Failure<>(FailureException.of(
+                    () -> String.format("Exception while evaluating predicate: %s", String.format(message, value)),
+                    e,
+                    STACK_TRACES));
         }
     }
 
@@ -353,8 +498,65 @@ public abstract class Result<T> implements Serializable {
         return lift2(f).apply(a).apply(b);
     }
 
+    /**
+     * map2 with an uncurried function
+     * @param a Result A
+     * @param b Result B
+     * @param f function (A, B) -> C
+     * @param <A> A
+     * @param <B> B
+     * @param <C> C
+     * @return Result of C
+     */
+    public static <A, B, C> Result<C> map2(Result<A> a, Result<B> b, Function2<A, B, C> f) {
+        return a.flatMap(ax -> b.map(bx -> f.apply(ax, bx)));
+    }
+
+    /**
+     * lift an uncurried function from (A, B) to C
+     * to a function from (Result A, Result B) to Result C
+     * @param f function (A, B) -> C
+     * @param <A> A
+     * @param <B> B
+     * @param <C> C
+     * @return function (Result A, Result B) -> Result C
+     */
+    public static <A, B, C> Function2<Result<A>, Result<B>, Result<C>> lift2(Function2<A, B, C> f) {
+        return (a, b) -> map2(a, b, f);
+    }
+
+    /**
+     * map each element with f and collect the values, in one forward loop
+     * the first Empty or Failure is returned as is and the rest of the list is not visited,
+     * the values are collected in a List.Builder and linked once, stack safe on any length
+     * @param list list of A
+     * @param f function A -> Result B
+     * @param <A> A
+     * @param <B> B
+     * @return Success of the list of B, or the first Empty or Failure
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B> Result<List<B>> traverse(List<A> list, Function<A, Result<B>> f) {
+        List.Builder<B> builder = List.Builder.atMost(list.length());
+        for (List<A> l = list; !l.isEmpty(); l = l.tail()) {
+            Result<B> b = Objects.requireNonNull(f.apply(l.head()), "traverse function returned null");
+            if (!(b instanceof Success)) return (Result<List<B>>) (Result<?>) b;
+            builder.add(((Success<B>) b).value);
+        }
+        return success(builder.build());
+    }
+
+    /**
+     * @param list list of Result A
+     * @param <A> A
+     * @return Success of the list of A, or the first Empty or Failure
+     */
+    public static <A> Result<List<A>> sequence(List<Result<A>> list) {
+        return traverse(list, x -> x);
+    }
+
     @SuppressWarnings("uncheked")
     public static <T> Result<T> empty() {
-        return empty;
+        return EMPTY;
     }
 }
@@ -0,0 +1,379 @@
+package com.practice.fp.commons;
+
+import static com.practice.fp.commons.TailCall.loop;
+import static com.practice.fp.commons.TailCall.ret;
+import static com.practice.fp.commons.TailCall.sus;
+
+/**
+ * lazy list: head and tail are evaluated on first access and then memoized,
+ * so the cost of a stream is proportional to what is consumed and infinite streams are fine
+ * operations that have to skip elements (drop, dropWhile, filter, flatMap, folds, toList)
+ * are loops, so they are stack safe on any length
+ * @param <A>
+ */
+public abstract class Stream<A> {
+
+    @SuppressWarnings("rawtypes")
+    private static final Stream EMPTY = new Empty();
+
+    private Stream() {}
+
+    // get the first element, evaluating it if needed
+    public abstract A head();
+    // get the rest of the stream, evaluating it if needed
+    public abstract Stream<A> tail();
+    // check stream is empty or not
+    public abstract boolean isEmpty();
+
+    public Result<A> headOption() {
+        return isEmpty() ? Result.empty() : Result.success(head());
+    }
+
+    /**
+     * lazy: nothing is evaluated until the result is consumed, not even whether this stream is empty
+     * @param n
+     * @return the first n elements
+     */
+    public Stream<A> take(int n) {
+        return n <= 0
+                ? empty()
+                : new Lazy<>(() -> isEmpty()
+                        ? empty()
+                        : cons(this::head, () -> tail().take(n - 1)));
+    }
+
+    /**
+     * evaluates the n first tails
+     * @param n
+     * @return all elements but the first n
+     */
+    public Stream<A> drop(int n) {
+        return loop(this, n, (frame, s, i) -> i <= 0 || s.isEmpty()
+                ? frame.ret(s)
+                : frame.sus(s.tail(), i - 1));
+    }
+
+    /**
+     * lazy, the head is evaluated when the result is consumed
+     * @param p
+     * @return the longest prefix whose elements satisfy p
+     */
+    public Stream<A> takeWhile(Function<A, Boolean> p) {
+        return new Lazy<>(() -> !isEmpty() && p.apply(head())
+                ? cons(this::head, () -> tail().takeWhile(p))
+                : empty());
+    }
+
+    /**
+     * evaluates elements until one does not satisfy p
+     * @param p
+     * @return the stream starting at the first element not satisfying p
+     */
+    public Stream<A> dropWhile(Function<A, Boolean> p) {
+        return loop(this, p, (frame, s, q) -> !s.isEmpty() && q.apply(s.head())
+                ? frame.sus(s.tail(), q)
+                : frame.ret(s));
+    }
+
+    /**
+     * lazy
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public <B> Stream<B> map(Function<A, B> f) {
+        return new Lazy<>(() -> isEmpty()
+                ? empty()
+                : cons(() -> f.apply(head()), () -> tail().map(f)));
+    }
+
+    /**
+     * lazy, the elements skipped to find the next match are walked in a loop
+     * @param p
+     * @return
+     */
+    public Stream<A> filter(Function<A, Boolean> p) {
+        return new Lazy<>(() -> {
+            Stream<A> s = dropWhile(x -> !p.apply(x));
+            return s.isEmpty()
+                    ? empty()
+                    : cons(s::head, () -> s.tail().filter(p));
+        });
+    }
+
+    /**
+     * lazy, consecutive elements mapped to an empty stream are skipped in a loop
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public <B> Stream<B> flatMap(Function<A, Stream<B>> f) {
+        return new Lazy<>(() -> {
+            Stream<A> s = this;
+            while (!s.isEmpty()) {
+                Stream<B> first = f.apply(s.head());
+                if (!first.isEmpty()) {
+                    Stream<A> rest = s.tail();
+                    return first.append(() -> rest.flatMap(f));
+                }
+                s = s.tail();
+            }
+            return empty();
+        });
+    }
+
+    /**
+     * lazy
+     * @param other evaluated once this stream is exhausted
+     * @return this stream followed by other
+     */
+    public Stream<A> append(Supplier<Stream<A>> other) {
+        return new Lazy<>(() -> isEmpty()
+                ? other.get()
+                : cons(this::head, () -> tail().append(other)));
+    }
+
+    /**
+     * foldRight with a lazy accumulator: f decides whether the rest is evaluated,
+     * e.g. exists is foldRight(() -> false, a -> b -> p.apply(a) || b.get())
+     * short-circuiting folds stop early, but each element evaluated before stopping
+     * takes stack, use foldRightViaTailCall for long streams
+     * @param identity
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public <B> B foldRight(Supplier<B> identity, Function<A, Function<Supplier<B>, B>> f) {
+        return isEmpty()
+                ? identity.get()
+                : f.apply(head()).apply(() -> tail().foldRight(identity, f));
+    }
+
+    /**
+     * stack-safe foldRight with short-circuit
+     * the rest of the fold is a suspended TailCall: returning it or mapping over it continues the fold,
+     * returning ret(...) stops it, e.g.
+     * exists: foldRightViaTailCall(false, a -> b -> p.apply(a) ? ret(true) : b)
+     * sum: foldRightViaTailCall(0, a -> b -> b.map(x -> x + a))
+     * @param identity
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public <B> B foldRightViaTailCall(B identity, Function<A, Function<TailCall<B>, TailCall<B>>> f) {
+        return foldRight_(this, identity, f).eval();
+    }
+
+    private static <A, B> TailCall<B> foldRight_(Stream<A> s,
+                                                 B identity,
+                                                 Function<A, Function<TailCall<B>, TailCall<B>>> f) {
+        return s.isEmpty()
+                ? ret(identity)
+                : f.apply(s.head()).apply(sus(() -> foldRight_(s.tail(), identity, f)));
+    }
+
+    /**
+     * stack safe, evaluates the whole stream: the stream must be finite
+     * @param identity
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public <B> B foldLeft(B identity, Function<B, Function<A, B>> f) {
+        return loop(identity, this, (frame, acc, s) -> s.isEmpty()
+                ? frame.ret(acc)
+                : frame.sus(f.apply(acc).apply(s.head()), s.tail()));
+    }
+
+    /**
+     * stops at the first match
+     * @param p
+     * @return
+     */
+    public boolean exists(Function<A, Boolean> p) {
+        return !dropWhile(x -> !p.apply(x)).isEmpty();
+    }
+
+    /**
+     * lazy, stops with the shorter stream
+     * @param other
+     * @param <B>
+     * @return
+     */
+    public <B> Stream<Tuple<A, B>> zip(Stream<B> other) {
+        return new Lazy<>(() -> isEmpty() || other.isEmpty()
+                ? empty()
+                : cons(() -> new Tuple<>(head(), other.head()), () -> tail().zip(other.tail())));
+    }
+
+    /**
+     * evaluates the whole stream: the stream must be finite
+     * @return
+     */
+    public List<A> toList() {
+        return foldLeft(List.<A>list(), acc -> a -> acc.cons(a)).reverse();
+    }
+
+    private static class Empty<A> extends Stream<A> {
+
+        @Override
+        public A head() {
+            throw new IllegalStateException("head called on empty stream");
+        }
+
+        @Override
+        public Stream<A> tail() {
+            throw new IllegalStateException("tail called on empty stream");
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "Empty()";
+        }
+    }
+
+    private static class Cons<A> extends Stream<A> {
+        private final Memo<A> head;
+        private final Memo<Stream<A>> tail;
+
+        private Cons(Supplier<A> head, Supplier<Stream<A>> tail) {
+            this.head = new Memo<>(head);
+            this.tail = new Memo<>(tail);
+        }
+
+        @Override
+        public A head() {
+            return head.get();
+        }
+
+        @Override
+        public Stream<A> tail() {
+            return tail.get();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "Cons(...)";
+        }
+    }
+
+    /**
+     * stream whose shape (empty or not) is only known once evaluated,
+     * used so that no operation checks whether its receiver is empty before the result is consumed
+     */
+    private static class Lazy<A> extends Stream<A> {
+        private final Memo<Stream<A>> stream;
+
+        private Lazy(Supplier<Stream<A>> stream) {
+            this.stream = new Memo<>(stream);
+        }
+
+        // a chain of Lazy is unwrapped in a loop
+        private Stream<A> force() {
+            Stream<A> s = stream.get();
+            while (s instanceof Lazy) {
+                s = ((Lazy<A>) s).stream.get();
+            }
+            return s;
+        }
+
+        @Override
+        public A head() {
+            return force().head();
+        }
+
+        @Override
+        public Stream<A> tail() {
+            return force().tail();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return force().isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "Lazy(...)";
+        }
+    }
+
+    /**
+     * thread-safe memoized supplier, the supplier is dropped once evaluated
+     */
+    private static final class Memo<T> implements Supplier<T> {
+        private Supplier<T> supplier;
+        private T value;
+        private volatile boolean evaluated;
+
+        private Memo(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public T get() {
+            if (!evaluated) {
+                synchronized (this) {
+                    if (!evaluated) {
+                        value = supplier.get();
+                        supplier = null;
+                        evaluated = true;
+                    }
+                }
+            }
+            return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A> Stream<A> empty() {
+        return EMPTY;
+    }
+
+    public static <A> Stream<A> cons(Supplier<A> head, Supplier<Stream<A>> tail) {
+        return new Cons<>(head, tail);
+    }
+
+    public static <A> Stream<A> cons(Supplier<A> head, Stream<A> tail) {
+        return new Cons<>(head, () -> tail);
+    }
+
+    /**
+     * infinite stream seed, f(seed), f(f(seed)), ...
+     * @param seed
+     * @param f
+     * @param <A>
+     * @return
+     */
+    public static <A> Stream<A> iterate(A seed, Function<A, A> f) {
+        return cons(() -> seed, () -> iterate(f.apply(seed), f));
+    }
+
+    public static Stream<Integer> from(int i) {
+        return iterate(i, x -> x + 1);
+    }
+
+    /**
+     * stream generated from a state, ends when f returns an empty Result
+     * @param z initial state
+     * @param f state -> (element, next state)
+     * @param <A>
+     * @param <S>
+     * @return
+     */
+    public static <A, S> Stream<A> unfold(S z, Function<S, Result<Tuple<A, S>>> f) {
+        return new Lazy<>(() -> f.apply(z)
+                .map(x -> cons(() -> x._1, () -> unfold(x._2, f)))
+                .getOrElse(empty()));
+    }
+}
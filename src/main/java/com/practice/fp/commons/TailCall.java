@@ -1,5 +1,8 @@
 package com.practice.fp.commons;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 public abstract class TailCall<T> {
 
     // prevent extension
@@ -9,14 +12,155 @@ public abstract class TailCall<T> {
     public abstract T eval();
     public abstract boolean isSuspend();
 
-    public static <T> Return<T> ret(T t) {
+    /**
+     * compose a trampolined computation with the next one
+     * nothing is evaluated here, eval runs the chain in constant stack
+     * so non-tail recursion can be expressed directly, e.g.
+     * sus(() -> range_(start + 1, end)).map(xs -> xs.cons(start))
+     * @param f next computation
+     * @param <U> U
+     * @return trampolined computation of U
+     */
+    public <U> TailCall<U> flatMap(Function<T, TailCall<U>> f) {
+        return new FlatMap<>(this, f);
+    }
+
+    /**
+     * @param f transformation of the result
+     * @param <U> U
+     * @return trampolined computation of U
+     */
+    public <U> TailCall<U> map(Function<T, U> f) {
+        return flatMap(t -> ret(f.apply(t)));
+    }
+
+    public static <T> TailCall<T> ret(T t) {
         return new Return<>(t);
     }
 
-    public static <T> Suspend<T> sus(Supplier<TailCall<T>> s) {
+    public static <T> TailCall<T> sus(Supplier<TailCall<T>> s) {
         return new Suspend<>(s);
     }
 
+    /**
+     * trampoline over two loop variables with no per-step frame or closure allocation
+     * the step returns frame.ret(result) to stop or frame.sus(a, b) to go on,
+     * the same frame is reused for every step, so no Suspend and no closure is created
+     * the loop variables are still boxed: an Integer accumulator allocates on every step past the Integer cache
+     * example: loop(0, list, (frame, acc, xs) -> xs.isEmpty()
+     *                 ? frame.ret(acc)
+     *                 : frame.sus(acc + xs.head(), xs.tail()))
+     * @param a first loop variable
+     * @param b second loop variable
+     * @param step one iteration
+     * @param <T> result
+     * @param <A> first loop variable
+     * @param <B> second loop variable
+     * @return result
+     */
+    public static <T, A, B> T loop(A a, B b, Step<T, A, B> step) {
+        Frame<T, A, B> frame = new Frame<>(a, b);
+        while (!frame.done) {
+            step.apply(frame, frame.a, frame.b);
+        }
+        return frame.result;
+    }
+
+    /**
+     * trampoline over three loop variables with no per-step frame or closure allocation, see loop(a, b, step)
+     * @param a first loop variable
+     * @param b second loop variable
+     * @param c third loop variable
+     * @param step one iteration
+     * @param <T> result
+     * @param <A> first loop variable
+     * @param <B> second loop variable
+     * @param <C> third loop variable
+     * @return result
+     */
+    public static <T, A, B, C> T loop(A a, B b, C c, Step3<T, A, B, C> step) {
+        Frame3<T, A, B, C> frame = new Frame3<>(a, b, c);
+        while (!frame.done) {
+            step.apply(frame, frame.a, frame.b, frame.c);
+        }
+        return frame.result;
+    }
+
+    @FunctionalInterface
+    public interface Step<T, A, B> {
+        Frame<T, A, B> apply(Frame<T, A, B> frame, A a, B b);
+    }
+
+    @FunctionalInterface
+    public interface Step3<T, A, B, C> {
+        Frame3<T, A, B, C> apply(Frame3<T, A, B, C> frame, A a, B b, C c);
+    }
+
+    /**
+     * mutable frame reused by the two-variable loop
+     * sus stores the next loop variables in place, ret stores the result and stops the loop
+     * @param <T> result
+     * @param <A> first loop variable
+     * @param <B> second loop variable
+     */
+    public static final class Frame<T, A, B> {
+        private A a;
+        private B b;
+        private T result;
+        private boolean done;
+
+        private Frame(A a, B b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        public Frame<T, A, B> ret(T t) {
+            this.result = t;
+            this.done = true;
+            return this;
+        }
+
+        public Frame<T, A, B> sus(A a, B b) {
+            this.a = a;
+            this.b = b;
+            return this;
+        }
+    }
+
+    /**
+     * mutable frame reused by the three-variable loop, sus always sets all three variables
+     * @param <T> result
+     * @param <A> first loop variable
+     * @param <B> second loop variable
+     * @param <C> third loop variable
+     */
+    public static final class Frame3<T, A, B, C> {
+        private A a;
+        private B b;
+        private C c;
+        private T result;
+        private boolean done;
+
+        private Frame3(A a, B b, C c) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+        }
+
+        public Frame3<T, A, B, C> ret(T t) {
+            this.result = t;
+            this.done = true;
+            return this;
+        }
+
+        public Frame3<T, A, B, C> sus(A a, B b, C c) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            return this;
+        }
+    }
+
     private static class Return<T> extends TailCall<T> {
         private final T t;
 
@@ -54,11 +198,42 @@ public abstract class TailCall<T> {
 
         @Override
         public T eval() {
-            TailCall<T> tailCall = resume.get();
-            while (tailCall.isSuspend()) {
-                tailCall = tailCall.resume();
+            return run(this);
+        }
+
+        @Override
+        public boolean isSuspend() {
+            return true;
+        }
+    }
+
+    private static class FlatMap<S, T> extends TailCall<T> {
+        private final TailCall<S> sub;
+        private final Function<S, TailCall<T>> f;
+
+        private FlatMap(TailCall<S> sub, Function<S, TailCall<T>> f) {
+            this.sub = sub;
+            this.f = f;
+        }
+
+        // one step, re-associating nested flatMap to the right
+        @Override
+        public TailCall<T> resume() {
+            if (sub instanceof FlatMap) {
+                return resume_((FlatMap<?, S>) sub);
             }
-            return tailCall.eval();
+            return sub.isSuspend()
+                    ? sub.resume().flatMap(f)
+                    : f.apply(sub.eval());
+        }
+
+        private <R> TailCall<T> resume_(FlatMap<R, S> inner) {
+            return inner.sub.flatMap(r -> inner.f.apply(r).flatMap(f));
+        }
+
+        @Override
+        public T eval() {
+            return run(this);
         }
 
         @Override
@@ -66,4 +241,34 @@ public abstract class TailCall<T> {
             return true;
         }
     }
+
+    /**
+     * evaluation loop
+     * pending continuations of flatMap are kept in a heap stack instead of the call stack,
+     * the stack is only allocated once a flatMap is met
+     * @param tailCall computation
+     * @param <T> T
+     * @return result
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T run(TailCall<T> tailCall) {
+        Deque<Function<Object, TailCall<Object>>> continuations = null;
+        TailCall<Object> current = (TailCall<Object>) tailCall;
+        while (true) {
+            if (current instanceof FlatMap) {
+                FlatMap<Object, Object> flatMap = (FlatMap<Object, Object>) current;
+                if (continuations == null) {
+                    continuations = new ArrayDeque<>();
+                }
+                continuations.push(flatMap.f);
+                current = flatMap.sub;
+            } else if (current.isSuspend()) {
+                current = current.resume();
+            } else if (continuations == null || continuations.isEmpty()) {
+                return (T) current.eval();
+            } else {
+                current = continuations.pop().apply(current.eval());
+            }
+        }
+    }
 }
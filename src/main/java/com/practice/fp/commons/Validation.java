@@ -0,0 +1,325 @@
+package com.practice.fp.commons;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Valid value or Invalid errors, combined applicatively: map2..map5 and traverse keep going after an error
+ * and report every error, in order, where Result stops at the first failure
+ * the errors are a Vector: combining two Invalid pushes the errors of the second into the first
+ * whose trie is shared, so accumulating errors with map2 in a loop stays linear,
+ * and traverse collects all errors in one array before building a single Vector
+ * flatMap is sequential (the function needs the value) and stops at the first Invalid
+ * @param <E> error
+ * @param <A> value
+ */
+public abstract class Validation<E, A> {
+
+    private Validation() {}
+
+    public abstract boolean isValid();
+
+    // the value for Valid, the default value for Invalid
+    public abstract A getOrElse(Supplier<A> defaultValue);
+
+    // all the errors for Invalid, empty for Valid
+    public abstract Vector<E> errors();
+
+    public abstract <B> Validation<E, B> map(Function<A, B> f);
+
+    public abstract <F> Validation<F, A> mapErrors(Function<E, F> f);
+
+    /**
+     * sequential composition, f is not applied to an Invalid: only its errors are reported
+     * use map2..map5 or traverse to accumulate the errors of independent checks
+     * @param f
+     * @param <B>
+     * @return
+     */
+    public abstract <B> Validation<E, B> flatMap(Function<A, Validation<E, B>> f);
+
+    /**
+     * @param invalid applied to the errors
+     * @param valid applied to the value
+     * @param <B>
+     * @return
+     */
+    public abstract <B> B fold(Function<Vector<E>, B> invalid, Function<A, B> valid);
+
+    /**
+     * Invalid becomes a Failure whose message, the errors separated by ", ", is formatted when read
+     * @return
+     */
+    public abstract Result<A> toResult();
+
+    private static class Valid<E, A> extends Validation<E, A> {
+
+        private final A value;
+
+        private Valid(A value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public A getOrElse(Supplier<A> defaultValue) {
+            return value;
+        }
+
+        @Override
+        public Vector<E> errors() {
+            return Vector.empty();
+        }
+
+        @Override
+        public <B> Validation<E, B> map(Function<A, B> f) {
+            return valid(f.apply(value));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <F> Validation<F, A> mapErrors(Function<E, F> f) {
+            return (Validation<F, A>) this;
+        }
+
+        @Override
+        public <B> Validation<E, B> flatMap(Function<A, Validation<E, B>> f) {
+            return f.apply(value);
+        }
+
+        @Override
+        public <B> B fold(Function<Vector<E>, B> invalid, Function<A, B> valid) {
+            return valid.apply(value);
+        }
+
+        @Override
+        public Result<A> toResult() {
+            return Result.success(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Valid && Objects.equals(value, ((Valid<?, ?>) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Valid(%s)", value);
+        }
+    }
+
+    private static class Invalid<E, A> extends Validation<E, A> {
+
+        // never empty
+        private final Vector<E> errors;
+
+        private Invalid(Vector<E> errors) {
+            this.errors = errors;
+        }
+
+        @Override
+        public boolean isValid() {
+            return false;
+        }
+
+        @Override
+        public A getOrElse(Supplier<A> defaultValue) {
+            return defaultValue.get();
+        }
+
+        @Override
+        public Vector<E> errors() {
+            return errors;
+        }
+
+        // no value, so the errors are passed along as is
+        @Override
+        @SuppressWarnings("unchecked")
+        public <B> Validation<E, B> map(Function<A, B> f) {
+            return (Validation<E, B>) this;
+        }
+
+        @Override
+        public <F> Validation<F, A> mapErrors(Function<E, F> f) {
+            return new Invalid<>(errors.foldLeft(Vector.<F>empty(), acc -> e -> acc.append(f.apply(e))));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <B> Validation<E, B> flatMap(Function<A, Validation<E, B>> f) {
+            return (Validation<E, B>) this;
+        }
+
+        @Override
+        public <B> B fold(Function<Vector<E>, B> invalid, Function<A, B> valid) {
+            return invalid.apply(errors);
+        }
+
+        @Override
+        public Result<A> toResult() {
+            return Result.failure(() -> errors.foldLeft(new StringBuilder(), sb -> e -> sb.length() == 0
+                    ? sb.append(e)
+                    : sb.append(", ").append(e)).toString());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Invalid && errors.equals(((Invalid<?, ?>) o).errors);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * errors.hashCode() + 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Invalid(%s)", errors);
+        }
+    }
+
+    public static <E, A> Validation<E, A> valid(A value) {
+        return new Valid<>(value);
+    }
+
+    public static <E, A> Validation<E, A> invalid(E error) {
+        return new Invalid<>(Vector.vector(error));
+    }
+
+    /**
+     * @param errors at least one error
+     * @param <E>
+     * @param <A>
+     * @return
+     */
+    public static <E, A> Validation<E, A> invalid(Vector<E> errors) {
+        if (errors.isEmpty()) throw new IllegalArgumentException("invalid called without errors");
+        return new Invalid<>(errors);
+    }
+
+    /**
+     * validation counterpart of Result.of(predicate, value, message)
+     * @param predicate condition the value must satisfy
+     * @param value
+     * @param error reported when the condition does not hold
+     * @param <E>
+     * @param <A>
+     * @return
+     */
+    public static <E, A> Validation<E, A> of(Function<A, Boolean> predicate, A value, E error) {
+        return predicate.apply(value) ? valid(value) : invalid(error);
+    }
+
+    /**
+     * @param result
+     * @param emptyMessage error for an Empty result
+     * @param <A>
+     * @return Valid for Success, Invalid with the failure message for Failure
+     */
+    public static <A> Validation<String, A> fromResult(Result<A> result, String emptyMessage) {
+        return result.toValidation(emptyMessage);
+    }
+
+    /**
+     * f is applied when both are valid, else the errors of a then b
+     * map2..map5 take uncurried functions: one call per valid record, no closure per argument
+     * @param a
+     * @param b
+     * @param f
+     * @param <E>
+     * @param <A>
+     * @param <B>
+     * @param <C>
+     * @return
+     */
+    public static <E, A, B, C> Validation<E, C> map2(Validation<E, A> a,
+                                                     Validation<E, B> b,
+                                                     Function2<A, B, C> f) {
+        return a.isValid() && b.isValid()
+                ? valid(f.apply(value(a), value(b)))
+                : new Invalid<>(a.errors().appendAll(b.errors()));
+    }
+
+    public static <E, A, B, C, D> Validation<E, D> map3(Validation<E, A> a,
+                                                        Validation<E, B> b,
+                                                        Validation<E, C> c,
+                                                        Function3<A, B, C, D> f) {
+        return a.isValid() && b.isValid() && c.isValid()
+                ? valid(f.apply(value(a), value(b), value(c)))
+                : new Invalid<>(a.errors().appendAll(b.errors()).appendAll(c.errors()));
+    }
+
+    public static <E, A, B, C, D, F> Validation<E, F> map4(Validation<E, A> a,
+                                                           Validation<E, B> b,
+                                                           Validation<E, C> c,
+                                                           Validation<E, D> d,
+                                                           Function4<A, B, C, D, F> f) {
+        return a.isValid() && b.isValid() && c.isValid() && d.isValid()
+                ? valid(f.apply(value(a), value(b), value(c), value(d)))
+                : new Invalid<>(a.errors().appendAll(b.errors()).appendAll(c.errors()).appendAll(d.errors()));
+    }
+
+    public static <E, A, B, C, D, F, G> Validation<E, G> map5(Validation<E, A> a,
+                                                              Validation<E, B> b,
+                                                              Validation<E, C> c,
+                                                              Validation<E, D> d,
+                                                              Validation<E, F> e,
+                                                              Function5<A, B, C, D, F, G> f) {
+        return a.isValid() && b.isValid() && c.isValid() && d.isValid() && e.isValid()
+                ? valid(f.apply(value(a), value(b), value(c), value(d), value(e)))
+                : new Invalid<>(a.errors().appendAll(b.errors()).appendAll(c.errors())
+                        .appendAll(d.errors()).appendAll(e.errors()));
+    }
+
+    /**
+     * one forward loop over the whole list: the values are collected while everything is valid,
+     * after the first Invalid only the errors are, in a growable array turned into one Vector at the end
+     * stack safe on any length
+     * @param list
+     * @param f
+     * @param <E>
+     * @param <A>
+     * @param <B>
+     * @return Valid list of B, or Invalid with the errors of every element, in order
+     */
+    public static <E, A, B> Validation<E, List<B>> traverse(List<A> list, Function<A, Validation<E, B>> f) {
+        List.Builder<B> values = List.Builder.atMost(list.length());
+        Object[] errors = null;
+        int n = 0;
+        for (List<A> l = list; !l.isEmpty(); l = l.tail()) {
+            Validation<E, B> v = Objects.requireNonNull(f.apply(l.head()), "traverse function returned null");
+            if (v instanceof Valid) {
+                if (errors == null) values.add(((Valid<E, B>) v).value);
+            } else {
+                Vector<E> e = ((Invalid<E, B>) v).errors;
+                if (errors == null) {
+                    errors = new Object[Math.max(16, e.size())];
+                } else if (n + e.size() > errors.length) {
+                    errors = Arrays.copyOf(errors, Math.max(errors.length << 1, n + e.size()));
+                }
+                e.copyTo(errors, n);
+                n += e.size();
+            }
+        }
+        return errors == null
+                ? valid(values.build())
+                : new Invalid<>(Vector.of(errors, n));
+    }
+
+    public static <E, A> Validation<E, List<A>> sequence(List<Validation<E, A>> list) {
+        return traverse(list, x -> x);
+    }
+
+    private static <E, A> A value(Validation<E, A> v) {
+        return ((Valid<E, A>) v).value;
+    }
+}
@@ -0,0 +1,396 @@
+package com.practice.fp.commons;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * immutable persistent vector (bit-partitioned 32-way trie with a tail buffer)
+ * get, update, append and take are O(log32 n), which is at most 7 levels for any int size,
+ * append only copies the tail (up to 32 elements) until it is full,
+ * then pushes it into the trie copying one path
+ * drop copies the kept elements: O(n), appendAll pushes a vector that is not the larger one into the other
+ * in O(m) for its m elements, else copies both
+ * @param <A> element
+ */
+public final class Vector<A> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(new Object[WIDTH]);
+
+    @SuppressWarnings("rawtypes")
+    private static final Vector EMPTY = new Vector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private Vector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <A> Vector<A> empty() {
+        return EMPTY;
+    }
+
+    @SafeVarargs
+    public static <A> Vector<A> vector(A... a) {
+        return build(Arrays.copyOf(a, a.length, Object[].class), a.length);
+    }
+
+    /**
+     * @param list commons.List
+     * @param <A> A
+     * @return vector of the list elements, in order
+     */
+    public static <A> Vector<A> fromList(List<A> list) {
+        Object[] items = new Object[list.length()];
+        int i = 0;
+        for (List<A> l = list; !l.isEmpty(); l = l.tail()) {
+            items[i++] = l.head();
+        }
+        return build(items, items.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public A get(int i) {
+        return (A) leafFor(i)[i & MASK];
+    }
+
+    public Result<A> getResult(int i) {
+        return i >= 0 && i < size ? Result.success(get(i)) : Result.empty();
+    }
+
+    /**
+     * @param a element to add at the end
+     * @return new vector, this one is unchanged
+     */
+    public Vector<A> append(A a) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = a;
+            return new Vector<>(size + 1, shift, root, newTail);
+        }
+        return pushTail(new Object[] {a});
+    }
+
+    /**
+     * O(m) for m elements: when other is not larger than this vector, its elements fill the tail
+     * and are pushed into the trie of this vector 32 at a time, one path copied per leaf,
+     * else both are copied into a new vector built bottom-up, O(n + m) with n < m
+     * so appending small vectors in a loop stays linear
+     * @param other elements to add at the end
+     * @return new vector, this one is unchanged
+     */
+    public Vector<A> appendAll(Vector<A> other) {
+        if (other.isEmpty()) return this;
+        if (isEmpty()) return other;
+        if (other.size > size) {
+            Object[] items = new Object[size + other.size];
+            copyTo(items, 0);
+            other.copyTo(items, size);
+            return build(items, items.length);
+        }
+        Object[] items = new Object[other.size];
+        other.copyTo(items, 0);
+        int fill = Math.min(WIDTH - tail.length, items.length);
+        Object[] newTail = Arrays.copyOf(tail, tail.length + fill);
+        System.arraycopy(items, 0, newTail, tail.length, fill);
+        Vector<A> result = new Vector<>(size + fill, shift, root, newTail);
+        // the tail of result is full from here on
+        for (int i = fill; i < items.length; i += WIDTH) {
+            result = result.pushTail(Arrays.copyOfRange(items, i, Math.min(i + WIDTH, items.length)));
+        }
+        return result;
+    }
+
+    /**
+     * @param i index
+     * @param a new element
+     * @return new vector with element i replaced
+     */
+    public Vector<A> update(int i, A a) {
+        checkIndex(i);
+        if (i >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[i & MASK] = a;
+            return new Vector<>(size, shift, root, newTail);
+        }
+        return new Vector<>(size, shift, doUpdate(shift, root, i, a), tail);
+    }
+
+    /**
+     * O(log32 n): the result shares the trie, only the right edge is copied and the new tail is one leaf
+     * @param n number of elements to keep
+     * @return the first n elements
+     */
+    public Vector<A> take(int n) {
+        if (n >= size) return this;
+        if (n <= 0) return empty();
+        int tailOffset = tailOffset();
+        if (n > tailOffset) {
+            return new Vector<>(n, shift, root, Arrays.copyOf(tail, n - tailOffset));
+        }
+        int newTailOffset = ((n - 1) >>> BITS) << BITS;
+        Object[] newTail = Arrays.copyOf(leafFor(n - 1), n - newTailOffset);
+        if (newTailOffset == 0) {
+            return new Vector<>(n, BITS, EMPTY_NODE, newTail);
+        }
+        Node newRoot = trimRight(shift, root, newTailOffset - 1);
+        int newShift = shift;
+        // drop the levels that hold a single child
+        while (newShift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new Vector<>(n, newShift, newRoot, newTail);
+    }
+
+    /**
+     * O(n - k): the indices of the kept elements change, so they are copied into a new vector
+     * @param k number of elements to remove
+     * @return all elements but the first k
+     */
+    public Vector<A> drop(int k) {
+        if (k <= 0) return this;
+        if (k >= size) return empty();
+        return slice(k, size);
+    }
+
+    /**
+     * leaf by leaf, no index lookup per element
+     * @param identity initial value
+     * @param f B -> A -> B
+     * @param <B> B
+     * @return folded value
+     */
+    @SuppressWarnings("unchecked")
+    public <B> B foldLeft(B identity, Function<B, Function<A, B>> f) {
+        B acc = identity;
+        for (int i = 0; i < size; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            int end = Math.min(WIDTH, size - i);
+            for (int j = 0; j < end; j++) {
+                acc = f.apply(acc).apply((A) leaf[j]);
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * @return commons.List of the elements, in order
+     */
+    @SuppressWarnings("unchecked")
+    public List<A> toList() {
+        List<A> result = List.list();
+        for (int i = size - 1; i >= 0; ) {
+            Object[] leaf = leafFor(i);
+            for (int j = i & MASK; j >= 0; j--, i--) {
+                result = result.cons((A) leaf[j]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * same elements in the same order, compared leaf by leaf
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Vector)) return false;
+        Vector<?> that = (Vector<?>) o;
+        if (size != that.size) return false;
+        for (int i = 0; i < size; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            Object[] other = that.leafFor(i);
+            int end = Math.min(WIDTH, size - i);
+            for (int j = 0; j < end; j++) {
+                if (!Objects.equals(leaf[j], other[j])) return false;
+            }
+        }
+        return true;
+    }
+
+    // same as java.util.List.hashCode
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i += WIDTH) {
+            Object[] leaf = leafFor(i);
+            int end = Math.min(WIDTH, size - i);
+            for (int j = 0; j < end; j++) {
+                hash = 31 * hash + Objects.hashCode(leaf[j]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return foldLeft(new StringBuilder("["), sb -> a -> sb.append(a).append(", "))
+                .append("NIL]").toString();
+    }
+
+    // the elements copied leaf by leaf into items, from offset
+    void copyTo(Object[] items, int offset) {
+        for (int i = 0; i < size; i += WIDTH) {
+            System.arraycopy(leafFor(i), 0, items, offset + i, Math.min(WIDTH, size - i));
+        }
+    }
+
+    // vector of the n first items, the array is not shared afterwards
+    static <A> Vector<A> of(Object[] items, int n) {
+        return build(items, n);
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(String.format("index %s, size %s", i, size));
+        }
+    }
+
+    private Object[] leafFor(int i) {
+        checkIndex(i);
+        if (i >= tailOffset()) return tail;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(i >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    // the full tail goes into the trie, copying one path, and newTail (1 to 32 elements) replaces it
+    private Vector<A> pushTail(Object[] newTail) {
+        Node tailNode = new Node(tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new Vector<>(size + newTail.length, newShift, newRoot, newTail);
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        int index = ((size - 1) >>> level) & MASK;
+        Node result = new Node(parent.array.clone());
+        Node toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            Node child = (Node) parent.array[index];
+            toInsert = child != null
+                    ? pushTail(level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        result.array[index] = toInsert;
+        return result;
+    }
+
+    private static Node newPath(int level, Node node) {
+        if (level == 0) return node;
+        Node result = new Node(new Object[WIDTH]);
+        result.array[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    // copy of the path to lastIndex without the children after it, full leaves are shared
+    private static Node trimRight(int level, Node node, int lastIndex) {
+        int index = (lastIndex >>> level) & MASK;
+        Object[] array = new Object[WIDTH];
+        System.arraycopy(node.array, 0, array, 0, index + 1);
+        if (level > BITS) {
+            array[index] = trimRight(level - BITS, (Node) node.array[index], lastIndex);
+        }
+        return new Node(array);
+    }
+
+    private static Node doUpdate(int level, Node node, int i, Object a) {
+        Node result = new Node(node.array.clone());
+        if (level == 0) {
+            result.array[i & MASK] = a;
+        } else {
+            int index = (i >>> level) & MASK;
+            result.array[index] = doUpdate(level - BITS, (Node) node.array[index], i, a);
+        }
+        return result;
+    }
+
+    private Vector<A> slice(int from, int to) {
+        Object[] items = new Object[to - from];
+        for (int i = from; i < to; ) {
+            Object[] leaf = leafFor(i);
+            int j = i & MASK;
+            int count = Math.min(WIDTH - j, to - i);
+            System.arraycopy(leaf, j, items, i - from, count);
+            i += count;
+        }
+        return build(items, items.length);
+    }
+
+    /**
+     * bottom-up construction: full leaves of 32 go into the trie, the rest into the tail
+     * @param items elements, not shared afterwards
+     * @param n number of elements
+     * @param <A> A
+     * @return vector
+     */
+    private static <A> Vector<A> build(Object[] items, int n) {
+        if (n == 0) return empty();
+        int tailOffset = n < WIDTH ? 0 : ((n - 1) >>> BITS) << BITS;
+        Object[] tail = Arrays.copyOfRange(items, tailOffset, n);
+        if (tailOffset == 0) {
+            return new Vector<>(n, BITS, EMPTY_NODE, tail);
+        }
+        Node[] level = new Node[tailOffset >>> BITS];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = new Node(Arrays.copyOfRange(items, i << BITS, (i + 1) << BITS));
+        }
+        int shift = BITS;
+        while (level.length > WIDTH) {
+            Node[] parents = new Node[(level.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                Object[] array = new Object[WIDTH];
+                System.arraycopy(level, i << BITS, array, 0, Math.min(WIDTH, level.length - (i << BITS)));
+                parents[i] = new Node(array);
+            }
+            level = parents;
+            shift += BITS;
+        }
+        Object[] rootArray = new Object[WIDTH];
+        System.arraycopy(level, 0, rootArray, 0, level.length);
+        return new Vector<>(n, shift, new Node(rootArray), tail);
+    }
+
+    private static final class Node {
+        private final Object[] array;
+
+        private Node(Object[] array) {
+            this.array = array;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.practice.fp.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncMemoizerTest {
+
+    @Test
+    void rejectedLoadIsNotCached() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        AsyncMemoizer<Integer, Integer> memoizer = Memoizer.async()
+                .executor(executor)
+                .memoize(x -> CompletableFuture.completedFuture(x * 10));
+
+        CompletableFuture<Integer> first = memoizer.apply(1);
+        assertTrue(first.isCompletedExceptionally());
+        assertEquals(0, memoizer.size());
+        // the next caller tries again instead of waiting forever on the rejected load
+        assertTrue(memoizer.apply(1).isCompletedExceptionally());
+        assertEquals(0, memoizer.size());
+    }
+
+    @Test
+    void nullFutureFailsTheLoad() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AsyncMemoizer<Integer, Integer> memoizer = Memoizer.async()
+                .executor(Runnable::run)
+                .memoize(x -> calls.incrementAndGet() == 1 ? null : CompletableFuture.completedFuture(x * 10));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> get(memoizer.apply(1)));
+        assertTrue(e.getCause() instanceof NullPointerException);
+        assertEquals(0, memoizer.size());
+        assertEquals(10, get(memoizer.apply(1)));
+    }
+
+    @Test
+    void rejectedRefreshServesTheStaleValue() throws Exception {
+        AtomicBoolean reject = new AtomicBoolean();
+        AtomicInteger calls = new AtomicInteger();
+        AsyncMemoizer<Integer, Integer> memoizer = Memoizer.async()
+                .executor(task -> {
+                    if (reject.get()) throw new RejectedExecutionException("rejected");
+                    task.run();
+                })
+                .refreshAfterWrite(Duration.ofNanos(1))
+                .memoize(x -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+
+        assertEquals(1, get(memoizer.apply(1)));
+        reject.set(true);
+        assertEquals(1, get(memoizer.apply(1)));
+        // the rejected refresh did not leave the entry marked as refreshing
+        reject.set(false);
+        memoizer.apply(1);
+        assertEquals(2, calls.get());
+        assertEquals(2, get(memoizer.apply(1)));
+    }
+
+    private static int get(CompletableFuture<Integer> future)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+}